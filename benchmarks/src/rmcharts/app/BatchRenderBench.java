@@ -0,0 +1,48 @@
+package rmcharts.app;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks ChartBatch rendering a corpus of chart specs (to a NullPainter, so no rasterizer or SVG output is measured)
+ * with increasing worker thread counts, to check that throughput scales with cores. Each benchmark op renders the whole
+ * corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BatchRenderBench {
+    
+    // The number of worker threads
+    @Param({ "1", "2", "4", "8", "16" })
+    int             threads;
+    
+    // The corpus of chart specs
+    List <String>   _specs = new ArrayList();
+    
+    // The batch
+    ChartBatch      _batch;
+    
+    // Constants
+    static final int CORPUS_SIZE = 256;
+
+@Setup
+public void setup()
+{
+    String types[] = { "line", "column", "pie" };
+    for(int i=0;i<CORPUS_SIZE;i++) { String type = types[i%3];
+        _specs.add(BenchData.getChartJSON(type, type.equals("pie")? 1 : 1 + i%5, 20 + i%7*100)); }
+    _batch = new ChartBatch(threads);
+}
+
+@Benchmark
+public List renderCorpus()
+{
+    return _batch.process(_specs, (rndr, spec) -> { rndr.loadChart(spec, 800, 500);
+        NullPainter pntr = new NullPainter(); rndr.paintChart(pntr); return pntr.getOpCount(); });
+}
+
+}
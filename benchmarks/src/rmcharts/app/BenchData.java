@@ -0,0 +1,45 @@
+package rmcharts.app;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Utility methods to create chart JSON for benchmarks.
+ */
+public class BenchData {
+
+/**
+ * Returns chart JSON for given type (line, column, pie) with given number of series and points per series.
+ */
+public static String getChartJSON(String aType, int aSeriesCount, int aPointCount)
+{
+    // Write chart, title and y axis
+    Random random = new Random(aSeriesCount*31 + aPointCount);
+    StringBuilder sb = new StringBuilder(aSeriesCount*aPointCount*10 + 200);
+    sb.append("{ \"chart\": { \"type\": \"").append(aType).append("\" },\n");
+    sb.append("  \"title\": { \"text\": \"Benchmark ").append(aType).append("\" },\n");
+    sb.append("  \"yAxis\": { \"title\": { \"text\": \"Values\" } },\n");
+    
+    // Write series with random walk values
+    sb.append("  \"series\": [");
+    for(int i=0;i<aSeriesCount;i++) { double val = 1000 + random.nextInt(1000);
+        sb.append(i>0? ",\n    " : "\n    ").append("{ \"name\": \"Series ").append(i+1).append("\", \"data\": [");
+        for(int j=0;j<aPointCount;j++) { val += random.nextGaussian()*25;
+            if(j>0) sb.append(','); sb.append(Math.round(val*100)/100d); }
+        sb.append("] }");
+    }
+    sb.append("\n  ]\n}");
+    return sb.toString();
+}
+
+/**
+ * A Writer that discards all output.
+ */
+public static class NullWriter extends Writer {
+    public void write(int c)  { }
+    public void write(String aStr)  { }
+    public void write(char theChars[], int anOff, int aLen)  { }
+    public void flush()  { }
+    public void close()  { }
+}
+
+}
@@ -0,0 +1,47 @@
+package rmcharts.app;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks ChartArea.getDataPointAt (hover/selection hit-testing) for line and bar charts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class HitTestBench {
+    
+    // The chart type
+    @Param({ "line", "column" })
+    String          type;
+    
+    // The number of points per series
+    @Param({ "100", "10000" })
+    int             pointCount;
+    
+    // The chart area and mouse points to cycle through
+    ChartArea       _chartArea;
+    double          _xs[] = new double[1024], _ys[] = new double[1024];
+    int             _index;
+
+@Setup
+public void setup()
+{
+    ChartView chartView = new ChartRenderer().loadChart(BenchData.getChartJSON(type, 20, pointCount), 1000, 600);
+    _chartArea = chartView.getChartArea();
+    Random random = new Random(1);
+    for(int i=0;i<_xs.length;i++) {
+        _xs[i] = random.nextDouble()*_chartArea.getWidth(); _ys[i] = random.nextDouble()*_chartArea.getHeight(); }
+}
+
+@Benchmark
+public DataPoint getDataPointAt()
+{
+    int i = _index = (_index + 1) & 1023;
+    return _chartArea.getDataPointAt(_xs[i], _ys[i]);
+}
+
+}
@@ -0,0 +1,50 @@
+package rmcharts.app;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks creating Intervals for a cycle of min/max/height values, and getting them from the Intervals.get cache
+ * (a small cycle of values that stays cached, as when a chart repaints, and a large cycle that overflows it).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class IntervalsBench {
+    
+    // The min, max and height values to cycle through
+    double          _mins[] = new double[1024], _maxs[] = new double[1024], _heights[] = new double[1024];
+    int             _index;
+    
+    // The number of min/max/height values to cycle through for Intervals.get (should be power of 2)
+    @Param({ "16", "1024" })
+    int             getCycle;
+
+@Setup
+public void setup()
+{
+    Random random = new Random(1);
+    for(int i=0;i<_mins.length;i++) {
+        double min = random.nextGaussian()*Math.pow(10, random.nextInt(8)), range = random.nextDouble()*1e6;
+        _mins[i] = min; _maxs[i] = min + range; _heights[i] = 100 + random.nextInt(900);
+    }
+}
+
+@Benchmark
+public Intervals newIntervals()
+{
+    int i = _index = (_index + 1) & 1023;
+    return new Intervals(_mins[i], _maxs[i], _heights[i]);
+}
+
+@Benchmark
+public Intervals getIntervals()
+{
+    int i = _index = (_index + 1) & (getCycle - 1);
+    return Intervals.get(_mins[i], _maxs[i], _heights[i]);
+}
+
+}
@@ -0,0 +1,118 @@
+package rmcharts.app;
+import java.util.*;
+import snap.gfx.*;
+
+/**
+ * A Painter that keeps graphics state and counts paint calls, but draws nothing (so paint benchmarks measure chart
+ * paint code instead of a rasterizer or SVG output).
+ */
+public class NullPainter extends Painter {
+
+    // The current graphics state
+    GState             _gstate = new GState();
+
+    // The saved graphics states
+    List <GState>      _gstates = new ArrayList();
+
+    // The number of draw/fill/image/string calls
+    int                _opCount;
+
+/**
+ * Returns the number of draw/fill/image/string calls.
+ */
+public int getOpCount()  { return _opCount; }
+
+/** Returns the current paint. */
+public Paint getPaint()  { return _gstate.paint; }
+
+/** Sets the current paint. */
+public void setPaint(Paint aPaint)  { _gstate.paint = aPaint; }
+
+/** Returns the current stroke. */
+public Stroke getStroke()  { return _gstate.stroke; }
+
+/** Sets the current stroke. */
+public void setStroke(Stroke aStroke)  { _gstate.stroke = aStroke; }
+
+/** Returns the current opacity. */
+public double getOpacity()  { return _gstate.opacity; }
+
+/** Sets the current opacity. */
+public void setOpacity(double aValue)  { _gstate.opacity = aValue; }
+
+/** Returns the current font. */
+public Font getFont()  { return _gstate.font; }
+
+/** Sets the current font. */
+public void setFont(Font aFont)  { _gstate.font = aFont; }
+
+/** Counts stroke of given shape. */
+public void draw(Shape aShape)  { _opCount++; }
+
+/** Counts fill of given shape. */
+public void fill(Shape aShape)  { _opCount++; }
+
+/** Counts draw of given image. */
+public void drawImage(Image anImg, double sx, double sy, double sw, double sh, double dx, double dy, double dw,
+    double dh)  { _opCount++; }
+
+/** Counts draw of given string. */
+public void drawString(String aStr, double aX, double aY, double cs)  { _opCount++; }
+
+/**
+ * Returns a copy of the current transform.
+ */
+public Transform getTransform()
+{
+    double m[] = _gstate.matrix;
+    return new Transform(m[0], m[1], m[2], m[3], m[4], m[5]);
+}
+
+/**
+ * Concatenates given transform to the current transform.
+ */
+public void transform(Transform aTrans)
+{
+    double t[] = new double[6]; aTrans.getMatrix(t);
+    double m[] = _gstate.matrix, a = m[0], b = m[1], c = m[2], d = m[3];
+    m[0] = a*t[0] + c*t[1]; m[1] = b*t[0] + d*t[1];
+    m[2] = a*t[2] + c*t[3]; m[3] = b*t[2] + d*t[3];
+    m[4] += a*t[4] + c*t[5]; m[5] += b*t[4] + d*t[5];
+}
+
+/** Returns the current clip shape. */
+public Shape getClip()  { return _gstate.clip; }
+
+/** Sets the current clip shape. */
+public void clip(Shape aShape)  { _gstate.clip = aShape; }
+
+/** Saves the graphics state. */
+public void save()  { _gstates.add(_gstate); _gstate = _gstate.clone(); }
+
+/** Restores the graphics state. */
+public void restore()  { if(_gstates.size()>0) _gstate = _gstates.remove(_gstates.size()-1); }
+
+/**
+ * A class to hold graphics state.
+ */
+private static class GState implements Cloneable {
+
+    // The paint, stroke, opacity, font, transform matrix (a, b, c, d, tx, ty) and clip
+    Paint paint = Color.BLACK;
+    Stroke stroke = Stroke.Stroke1;
+    double opacity = 1;
+    Font font;
+    double matrix[] = { 1, 0, 0, 1, 0, 0 };
+    Shape clip;
+
+    /** Returns a copy of this state. */
+    public GState clone()
+    {
+        GState clone; try { clone = (GState)super.clone(); }
+        catch(CloneNotSupportedException e) { throw new RuntimeException(e); }
+        clone.matrix = matrix.clone();
+        return clone;
+    }
+}
+
+}
@@ -0,0 +1,73 @@
+package rmcharts.app;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks painting line, bar and pie charts to a painter that draws nothing (NullPainter), so only chart paint
+ * code is measured. The paintChart benchmark replays cached paths (like a repaint), paintChartUncached clears the
+ * chart area cache first (so geometry is rebuilt, like after a resize or data change). SVG export is measured
+ * separately (paintAllSVG).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBench {
+    
+    // The chart type
+    @Param({ "line", "column", "pie" })
+    String          type;
+    
+    // The number of points per series
+    @Param({ "20", "2000" })
+    int             pointCount;
+    
+    // The chart view
+    ChartView       _chartView;
+
+@Setup
+public void setup()
+{
+    int seriesCount = type.equals("pie")? 1 : 5;
+    _chartView = new ChartRenderer().loadChart(BenchData.getChartJSON(type, seriesCount, pointCount), 1000, 600);
+}
+
+@Benchmark
+public NullPainter paintChart()
+{
+    ChartArea chartArea = _chartView.getChartArea();
+    NullPainter pntr = new NullPainter();
+    chartArea.paintChart(pntr, 0, 0, chartArea.getWidth(), chartArea.getHeight());
+    return pntr;
+}
+
+@Benchmark
+public NullPainter paintChartUncached()
+{
+    ChartArea chartArea = _chartView.getChartArea();
+    chartArea.clearCache();
+    NullPainter pntr = new NullPainter();
+    chartArea.paintChart(pntr, 0, 0, chartArea.getWidth(), chartArea.getHeight());
+    return pntr;
+}
+
+@Benchmark
+public NullPainter paintAll()
+{
+    NullPainter pntr = new NullPainter();
+    _chartView.paintAll(pntr);
+    return pntr;
+}
+
+@Benchmark
+public SVGPainter paintAllSVG()
+{
+    SVGPainter pntr = new SVGPainter(new BenchData.NullWriter(), _chartView.getWidth(), _chartView.getHeight());
+    _chartView.paintAll(pntr);
+    pntr.finish();
+    return pntr;
+}
+
+}
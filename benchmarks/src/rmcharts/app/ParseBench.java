@@ -0,0 +1,48 @@
+package rmcharts.app;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks ChartParser.parseString with streaming parse and with full JSON node tree parse. The chart view doesn't
+ * reload contents (legend, chart area), so only parsing into the DataSet is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ParseBench {
+    
+    // The number of points per series
+    @Param({ "100", "10000", "100000" })
+    int             pointCount;
+    
+    // Whether to use streaming parse
+    @Param({ "true", "false" })
+    boolean         streaming;
+    
+    // The chart view and JSON
+    ChartView       _chartView;
+    String          _json;
+
+@Setup
+public void setup()
+{
+    _chartView = new ChartView() { public void reloadContents(boolean doAnim)  { } };
+    _chartView.setAnimate(false);
+    _json = BenchData.getChartJSON("line", 4, pointCount);
+}
+
+@Benchmark
+public DataSet parseString()
+{
+    DataSet dset = _chartView.getDataSet();
+    dset.clear();
+    ChartParser parser = new ChartParser(_chartView);
+    parser.setStreaming(streaming);
+    parser.parseString(_json);
+    return dset;
+}
+
+}
@@ -0,0 +1,71 @@
+package rmcharts.app;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks ChartWriter.getString and MapWriter.getString.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class WriteBench {
+    
+    // The number of points per series
+    @Param({ "100", "10000" })
+    int             pointCount;
+    
+    // The chart view and chart map
+    ChartView       _chartView;
+    Map             _map;
+
+@Setup
+public void setup()
+{
+    _chartView = new ChartView(); _chartView.setAnimate(false);
+    _chartView.loadFromString(BenchData.getChartJSON("line", 4, pointCount));
+    _map = new ChartWriter(_chartView).writeAll();
+    checkRoundTrip();
+}
+
+/**
+ * Checks that null values survive a write/parse round trip at the same index with both streaming and tree parse
+ * (complains if not): Null array elements and point objects without y are read as null points.
+ */
+void checkRoundTrip()
+{
+    // Create chart with null values (including last) and with named points (including null point and name with no y)
+    ChartView chart = new ChartView(); chart.setAnimate(false);
+    DataSet dset = chart.getDataSet();
+    dset.getSeries(0).setValues(1d, null, 3d, null, 5d, null);
+    DataSeries named = dset.addSeriesForNameAndValues("Named");
+    named.addPoint("a", 1d); named.addPoint(null, null); named.addPoint("c", null); named.addPoint("d", 4d);
+    String json = new ChartWriter(chart).getString();
+    
+    // Reload with streaming and tree parse and compare names and values
+    for(boolean streaming : new boolean[] { true, false }) {
+        ChartView chart2 = new ChartView(); chart2.setAnimate(false); chart2.getDataSet().clear();
+        ChartParser parser = new ChartParser(chart2); parser.setStreaming(streaming); parser.parseString(json);
+        DataSet dset2 = chart2.getDataSet();
+        boolean same = dset.getSeriesCount()==dset2.getSeriesCount();
+        for(int i=0; same && i<dset.getSeriesCount(); i++) { DataSeries s0 = dset.getSeries(i), s1 = dset2.getSeries(i);
+            same = s0.getPointCount()==s1.getPointCount();
+            for(int j=0; same && j<s0.getPointCount(); j++)
+                same = Objects.equals(s0.getValue(j), s1.getValue(j)) &&
+                    Objects.equals(s0.getPointName(j), s1.getPointName(j));
+        }
+        if(!same) throw new IllegalStateException("WriteBench: Null values don't survive write/parse round trip " +
+            (streaming? "(streaming)" : "(tree)"));
+    }
+}
+
+@Benchmark
+public String chartWriter()  { return new ChartWriter(_chartView).getString(); }
+
+@Benchmark
+public String mapWriter()  { return new MapWriter().getString(_map); }
+
+}
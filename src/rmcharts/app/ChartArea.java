@@ -15,11 +15,21 @@ public class ChartArea extends View {
     // The amount of the chart to show horizontally (0-1)
     double              _reveal = 1;
     
+    // The cached coordinate mapper (and the size, point count and intervals it was built for)
+    CoordinateMapper    _coordMapper;
+    double              _coordMapperW, _coordMapperH;
+    int                 _coordMapperCount;
+    Intervals           _coordMapperIntervals;
+    
+    // The cached index of active series points in local coords (and the coordinate mapper it was built with)
+    PointIndex          _pointIndex;
+    CoordinateMapper    _pointIndexMapper;
+    
     // Constants
     public static String   Reveal_Prop = "Reveal";
     public static String   DataPoint_Prop = "DataPoint";
-    static Color           AXIS_LINES_COLOR = Color.LIGHTGRAY;
-    static Stroke          Stroke3 = new Stroke(3), Stroke4 = new Stroke(4), Stroke5 = new Stroke(5);
+    static final Color     AXIS_LINES_COLOR = Color.LIGHTGRAY;
+    static final Stroke    Stroke3 = new Stroke(3), Stroke4 = new Stroke(4), Stroke5 = new Stroke(5);
 
 /**
  * Creates a ChartArea.
@@ -118,27 +128,31 @@ public void animate()
     getAnimCleared(1000).setValue(Reveal_Prop,1).setLinear().play();
 }
 
+/**
+ * Returns the mapper from series coords to local coords for current size, point count and intervals. Callers that map
+ * many points should get this once and map with it directly.
+ */
+public CoordinateMapper getCoordMapper()
+{
+    // If cached mapper valid for size, point count and intervals, just return
+    double w = getWidth(), h = getHeight(); int count = getPointCount(); Intervals intervals = getActiveIntervals();
+    if(_coordMapper!=null && w==_coordMapperW && h==_coordMapperH && count==_coordMapperCount &&
+        intervals==_coordMapperIntervals) return _coordMapper;
+    
+    // Create mapper for bounds inside insets
+    Insets ins = getInsetsAll();
+    _coordMapper = new CoordinateMapper(ins.left, ins.top, w - ins.getWidth(), h - ins.getHeight(), count, intervals);
+    _coordMapperW = w; _coordMapperH = h; _coordMapperCount = count; _coordMapperIntervals = intervals;
+    return _coordMapper;
+}
+
 /**
  * Converts a point from series to local.
  */
 public Point seriesToLocal(double aX, double aY)
 {
-    // Get insets
-    Insets ins = getInsetsAll();
-    
-    // Convert X
-    DataSet dset = getDataSet();
-    int count = dset.getPointCount();
-    double w = getWidth() - ins.getWidth();
-    double dx = w/(count-1);
-    double nx = ins.left + aX*dx;
-
-    // Convert Y and return
-    double axisMinVal = getActiveIntervals().getMin();
-    double axisMaxVal = getActiveIntervals().getMax();
-    double h = getHeight() - ins.getHeight();
-    double ny = ins.top + h - (aY-axisMinVal)/(axisMaxVal-axisMinVal)*h;
-    return new Point(nx, ny);
+    CoordinateMapper cmap = getCoordMapper();
+    return new Point(cmap.mapX(aX), cmap.mapY(aY));
 }
 
 /**
@@ -146,8 +160,8 @@ public Point seriesToLocal(double aX, double aY)
  */
 public Point dataPointInLocal(DataPoint aDP)
 {
-    int index = aDP.getIndex(); double y = aDP.getValueX();
-    return seriesToLocal(index, y);
+    CoordinateMapper cmap = getCoordMapper();
+    return new Point(cmap.mapX(aDP.getIndex()), cmap.mapY(aDP.getValueX()));
 }
 
 /**
@@ -213,7 +227,7 @@ protected void processEvent(ViewEvent anEvent)
     // Handle MouseClick
     if(anEvent.isMouseClick()) {
         DataPoint dpnt = getDataPointAt(anEvent.getX(), anEvent.getY());
-        if(dpnt==_chartView.getSelDataPoint()) dpnt = null;
+        if(SnapUtils.equals(dpnt, _chartView.getSelDataPoint())) dpnt = null;
         _chartView.setSelDataPoint(dpnt);
     }
         
@@ -222,6 +236,43 @@ protected void processEvent(ViewEvent anEvent)
         _chartView.setTargDataPoint(null);
 }
 
+/**
+ * Returns the bounds of the highlight painted for given data point when targeted or selected (null if none).
+ */
+public Rect getDataPointHighlightBounds(DataPoint aDP)  { return null; }
+
+/**
+ * Returns the bounds affected by change of targeted or selected data point from given old point to new point (null if
+ * none). Default is the union of old and new highlight bounds.
+ */
+protected Rect getDataPointChangeBounds(DataPoint oldDP, DataPoint newDP)
+{
+    Rect r0 = oldDP!=null? getDataPointHighlightBounds(oldDP) : null;
+    Rect r1 = newDP!=null? getDataPointHighlightBounds(newDP) : null;
+    return r0==null? r1 : r1==null? r0 : r0.getUnionRect(r1);
+}
+
+/**
+ * Repaints just the area affected by change of targeted or selected data point (everything, if reveal is animating).
+ * Returns the number of pixels repainted.
+ */
+public double repaintDataPointChange(DataPoint oldDP, DataPoint newDP)
+{
+    // If reveal in progress, whole area is repainting anyway
+    double w = getWidth(), h = getHeight();
+    if(getReveal()<1) { repaint(); return w*h; }
+    
+    // Get change bounds clipped to area (just return if none)
+    Rect bnds = getDataPointChangeBounds(oldDP, newDP); if(bnds==null) return 0;
+    double x = Math.max(bnds.x, 0), y = Math.max(bnds.y, 0);
+    double rw = Math.min(bnds.x + bnds.width, w) - x, rh = Math.min(bnds.y + bnds.height, h) - y;
+    if(rw<=0 || rh<=0) return 0;
+    
+    // Repaint rect and return area
+    repaint(x, y, rw, rh);
+    return rw*rh;
+}
+
 /**
  * Returns the data point best associated with given x/y (null if none).
  */
@@ -230,20 +281,40 @@ protected DataPoint getDataPointAt(double aX, double aY)
     // If point out of bounds, return null
     if(aX<0 || aX>getWidth() || aY<0 || aY>getWidth()) return null;
     
-    // Iterate over active series to find series + value index closest to point
-    DataPoint dataPoint = null; double dist = Float.MAX_VALUE;
-    List <DataSeries> seriesList = getActiveSeries();
-    for(int i=0;i<seriesList.size();i++) { DataSeries series = seriesList.get(i);
-        for(int j=0;j<getPointCount();j++) {
-            Point pnt = seriesToLocal(j,series.getValueX(j));
-            double d = Point.getDistance(aX, aY, pnt.x, pnt.y);
-            if(d<dist) { dist = d;
-                dataPoint = series.getPoint(j); }
-        }
-    }
+    // Get closest series + value index from point index
+    PointIndex pointIndex = getPointIndex();
+    int entry = pointIndex.getNearest(aX, aY); if(entry<0) return null;
     
     // Return DataPoint for closest series+index
-    return dataPoint;
+    DataSeries series = getActiveSeries().get(pointIndex.getSeriesIndex(entry));
+    return series.getPoint(pointIndex.getPointIndex(entry));
+}
+
+/**
+ * Returns the index of active series points in local coords, used to find the point nearest a location (hover and
+ * selection). Rebuilt when coordinate mapper changes (size, point count or intervals), or when cache is cleared.
+ */
+public PointIndex getPointIndex()
+{
+    // If cached index valid for coordinate mapper (size, point count and intervals), just return
+    CoordinateMapper cmap = getCoordMapper();
+    if(_pointIndex!=null && cmap==_pointIndexMapper) return _pointIndex;
+    
+    // Get local x/y for active series points
+    int pointCount = getPointCount();
+    List <DataSeries> seriesList = getActiveSeries(); int scount = seriesList.size();
+    double xs[][] = new double[scount][], ys[][] = new double[scount][];
+    for(int i=0;i<scount;i++) { DataSeries series = seriesList.get(i);
+        int count = Math.min(pointCount, series.getPointCount()); xs[i] = new double[count]; ys[i] = new double[count];
+        cmap.mapIndexes(xs[i], count);
+        for(int j=0;j<count;j++) ys[i][j] = cmap.mapY(series.getValueX(j));
+    }
+    
+    // Create index and return
+    Insets ins = getInsetsAll();
+    _pointIndex = new PointIndex(xs, ys, ins.left, ins.top, getWidth() - ins.getWidth(), getHeight() - ins.getHeight());
+    _pointIndexMapper = cmap;
+    return _pointIndex;
 }
 
 /**
@@ -268,7 +339,7 @@ public void reactivate()  { }
 /**
  * Call to clear any cached data.
  */
-protected void clearCache()  { }
+protected void clearCache()  { _coordMapper = null; _pointIndex = null; }
 
 /**
  * Returns the value for given key.
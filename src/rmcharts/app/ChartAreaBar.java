@@ -1,5 +1,5 @@
 package rmcharts.app;
-import java.util.List;
+import java.util.*;
 import snap.gfx.*;
 
 /**
@@ -19,8 +19,12 @@ public class ChartAreaBar extends ChartArea {
     // The number of series and values to chart
     int                _seriesCount, _pointCount;
     
-    // The cached sections
-    Section            _sections[];
+    // The cached bar geometry: section width, group pad width, bar width and bar pad width
+    double             _sectionWidth, _groupPadWidth, _barWidth, _barPadWidth;
+    
+    // The cached bar top y for each series (active) and point (and the coordinate mapper used to get them)
+    double             _barYs[][];
+    CoordinateMapper   _barYsMapper;
 
 /**
  * Creates a ChartAreaBar.
@@ -79,64 +83,54 @@ public void setWidth(double aValue)  { super.setWidth(aValue); clearCache(); }
 public void setHeight(double aValue)  { super.setHeight(aValue); clearCache(); }
 
 /**
- * Call to clear section/bar cache.
+ * Call to clear bar cache.
  */
-protected void clearCache()  { _sections = null; }
+protected void clearCache()  { super.clearCache(); _barYs = null; }
 
 /**
- * Returns the cached section (and section bars) objects.
+ * Returns the cached bar top y values for each active series and point (and caches bar geometry).
  */
-protected Section[] getSections()
+protected double[][] getBarYs()
 {
     // If recacl not needed, just return
-    int seriesCount = getActiveSeries().size(), pointCount = getPointCount();
-    if(_sections!=null && _sections.length==pointCount && _seriesCount==seriesCount) return _sections;
-    
-    // Get ChartAreaBar info
-    double cx = 0, cy = 0, cw = getWidth(), ch = getHeight();
-    boolean colorSeries = !isColorValues();
+    int seriesCount = getActiveSeries().size(), pointCount = getPointCount(); CoordinateMapper cmap = getCoordMapper();
+    if(_barYs!=null && _pointCount==pointCount && _seriesCount==seriesCount && cmap==_barYsMapper) return _barYs;
     
     // Get number of series, points and section width
     List <DataSeries> seriesList = getActiveSeries();
     _seriesCount = seriesCount;
-    _pointCount = getPointCount();
-    double sectionWidth = getWidth()/_pointCount;
+    _pointCount = pointCount;
+    _sectionWidth = getWidth()/_pointCount;
 
     // Get group widths
     double groupWidthRatio = 1 - _groupPad*2;
-    double groupWidth = groupWidthRatio>=0? groupWidthRatio*sectionWidth : 1;
-    double groupPadWidth = (sectionWidth - groupWidth)/2;
+    double groupWidth = groupWidthRatio>=0? groupWidthRatio*_sectionWidth : 1;
+    _groupPadWidth = (_sectionWidth - groupWidth)/2;
     
     // Get width of individual bar (bar count + bar spaces + bar&space at either end)
     double barWidthRatio = 1 - _barPad*2;
-    double barWidth = barWidthRatio>=0? barWidthRatio*groupWidth/_seriesCount : 1;
-    double barPadWidth = barWidthRatio>=0? _barPad*groupWidth/_seriesCount : 1;
-    
-    // Create new bars array
-    Section sections[] = new Section[pointCount];
-    
-    // Iterate over sections
-    for(int i=0;i<_pointCount;i++) {
-        
-        // Create/set new section and section.bars
-        Section section = sections[i] = new Section(cx + i*sectionWidth, cy, sectionWidth, ch);
-        section.bars = new Bar[_seriesCount];
-        
-        // Iterate over series
-        for(int j=0;j<_seriesCount;j++) { DataSeries series = seriesList.get(j);
-            DataPoint dataPoint = series.getPoint(i);
-            double val = dataPoint.getValueX();
-            
-            // Draw bar
-            Color color = colorSeries? getColor(series.getIndex()) : getColor(i);
-            double bx = cx + i*sectionWidth + groupPadWidth + (j*2+1)*barPadWidth + j*barWidth;
-            double by = seriesToLocal(i, val).y, bh = cy + ch - by;
-            section.bars[j] = new Bar(dataPoint, bx, by, barWidth, bh, color);
-        }
+    _barWidth = barWidthRatio>=0? barWidthRatio*groupWidth/_seriesCount : 1;
+    _barPadWidth = barWidthRatio>=0? _barPad*groupWidth/_seriesCount : 1;
+    
+    // Iterate over series and get bar top y for each value (missing values are zero)
+    double barYs[][] = new double[_seriesCount][_pointCount], zeroY = cmap.mapY(0);
+    for(int j=0;j<_seriesCount;j++) { double vals[] = seriesList.get(j).getValues();
+        int count = Math.min(_pointCount, vals.length); cmap.mapY(vals, barYs[j], count);
+        Arrays.fill(barYs[j], count, _pointCount, zeroY);
     }
     
-    // Return sections
-    return _sections = sections;
+    // Return bar ys
+    _barYsMapper = cmap;
+    return _barYs = barYs;
+}
+
+/**
+ * Returns the x of bar for given series (active) index and point index.
+ */
+protected double getBarX(int aSeriesIndex, int aPointIndex)
+{
+    int j = aSeriesIndex;
+    return aPointIndex*_sectionWidth + _groupPadWidth + (j*2+1)*_barPadWidth + j*_barWidth;
 }
     
 /**
@@ -149,22 +143,24 @@ protected void paintChart(Painter aPntr, double aX, double aY, double aW, double
     int selIndex = dataPoint!=null? dataPoint.getIndex() : -1;
     
     double cx = 0, cy = 0, cw = getWidth(), ch = getHeight();
-    Section sections[] = getSections();
+    double barYs[][] = getBarYs();
+    boolean colorSeries = !isColorValues();
+    List <DataSeries> seriesList = getActiveSeries();
     
     // If reveal is not full (1) then clip
     if(getReveal()<1) {
         aPntr.save(); aPntr.clipRect(0,getHeight()*(1-getReveal()),getWidth(),getHeight()*getReveal()); }
         
-    // Iterate over sections
-    for(int i=0;i<_pointCount;i++) { Section section = sections[i];
-        
-        // If selected section, draw background
-        if(i==selIndex) {
-            aPntr.setColor(Color.get("#4488FF09")); aPntr.fillRect(cx + i*section.width, cy, section.width, ch); }
-        
-        // Iterate over series and draw bars
-        for(int j=0;j<_seriesCount;j++) { Bar bar = section.bars[j];
-            aPntr.setColor(bar.color); aPntr.fillRect(bar.x, bar.y, bar.width, bar.height - .5);
+    // If selected section, draw background
+    if(selIndex>=0 && selIndex<_pointCount) {
+        aPntr.setColor(Color.get("#4488FF09")); aPntr.fillRect(cx + selIndex*_sectionWidth, cy, _sectionWidth, ch); }
+    
+    // Iterate over series and draw bars
+    for(int j=0;j<_seriesCount;j++) { double ys[] = barYs[j];
+        if(colorSeries) aPntr.setColor(getColor(seriesList.get(j).getIndex()));
+        for(int i=0;i<_pointCount;i++) { double by = ys[i];
+            if(!colorSeries) aPntr.setColor(getColor(i));
+            aPntr.fillRect(getBarX(j, i), by, _barWidth, cy + ch - by - .5);
         }
     }
     
@@ -182,68 +178,43 @@ public Point dataPointInLocal(DataPoint aDP)
     int pointIndex = aDP.getIndex();
     
     // Get bar for data point and return top-center point
-    Section sections[] = getSections(), section = sections[pointIndex];
-    Bar bars[] = section.bars, bar = bars[seriesIndex];
-    return new Point(Math.round(bar.x + bar.width/2), Math.round(bar.y));
+    double barYs[][] = getBarYs(), bx = getBarX(seriesIndex, pointIndex);
+    return new Point(Math.round(bx + _barWidth/2), Math.round(barYs[seriesIndex][pointIndex]));
 }
 
 /**
- * Returns the data point best associated with given x/y (null if none).
+ * Override to return bounds of targeted section background.
  */
-protected DataPoint getDataPointAt(double aX, double aY)
+public Rect getDataPointHighlightBounds(DataPoint aDP)
 {
-    // Get sections array
-    Section sections[] = getSections();
-        
-    // Iterate over sections (points) and bars (series) and if bar contains point, return data point
-    for(int i=0;i<_pointCount;i++) { Section section = sections[i];
-        for(int j=0;j<_seriesCount;j++) { Bar bar = section.bars[j];
-            if(bar.contains(aX,aY))
-                return bar.point;
-        }
-    }
-    
-    // Return null since bar not found for point
-    return null;
+    getBarYs(); int index = aDP.getIndex();
+    return index>=0 && index<_pointCount? new Rect(index*_sectionWidth, 0, _sectionWidth, getHeight()) : null;
 }
 
 /**
- * A class to hold section information.
+ * Returns the data point best associated with given x/y (null if none).
  */
-private class Section {
-    
-    // Points
-    double x, y, width, height;
-    Bar bars[];
-    
-    /** Creates a Section. */
-    public Section(double aX, double aY, double aW, double aH)
-    {
-        x = aX; y = aY; width = aW; height = aH;
-    }
+protected DataPoint getDataPointAt(double aX, double aY)
+{
+    // Get bar geometry
+    double barYs[][] = getBarYs(); if(_pointCount==0 || _seriesCount==0) return null;
     
-    /** Returns whether section contains point. */
-    public boolean contains(double aX, double aY)  { return Rect.contains(x, y, width, height, aX, aY); }
-}
-
-/**
- * A class to hold bar information.
- */
-private class Bar {
+    // Get section (point) index directly from x
+    int pointIndex = (int)Math.floor(aX/_sectionWidth);
+    if(pointIndex<0 || pointIndex>=_pointCount) return null;
     
-    // Points
-    DataPoint point;
-    double x, y, width, height;
-    Color color;
+    // Get bar (series) index directly from x offset in group (bar slot is bar plus pad on either side)
+    double groupX = aX - pointIndex*_sectionWidth - _groupPadWidth;
+    int seriesIndex = (int)Math.floor(groupX/(_barWidth + _barPadWidth*2));
+    if(seriesIndex<0 || seriesIndex>=_seriesCount) return null;
     
-    /** Creates a bar. */
-    public Bar(DataPoint aDP, double aX, double aY, double aW, double aH, Color aColor)
-    {
-        point = aDP; x = aX; y = aY; width = aW; height = aH; color = aColor;
-    }
+    // If bar contains point, return data point
+    double bx = getBarX(seriesIndex, pointIndex), by = barYs[seriesIndex][pointIndex], bh = getHeight() - by;
+    if(Rect.contains(bx, by, _barWidth, bh, aX, aY))
+        return getActiveSeries().get(seriesIndex).getPoint(pointIndex);
     
-    /** Returns whether bar contains point. */
-    public boolean contains(double aX, double aY)  { return Rect.contains(x, y, width, height, aX, aY); }
+    // Return null since bar not found for point
+    return null;
 }
 
 }
\ No newline at end of file
@@ -6,6 +6,30 @@ import snap.gfx.*;
  * A ChartArea subclass to display the contents of line chart.
  */
 public class ChartAreaLine extends ChartArea {
+    
+    // The decimation algorithm used to reduce points when there are more points than pixels
+    String             _decimation = DECIMATE_MINMAX;
+    
+    // The number of points per pixel above which series are decimated
+    double             _decimateThreshold = 2;
+    
+    // The minimum spacing between points (in pixels) at which point markers are drawn
+    double             _markerSpacing = 5;
+    
+    // The cached paths and marker points (x/y arrays) for active series (marker points null if markers not shown)
+    List <Path>        _seriesPaths;
+    double             _markerXs[][], _markerYs[][];
+    
+    // The cached combined marker path for each active series (null if markers not shown)
+    List <Path>        _markerPaths;
+    
+    // The coordinate mapper (size, point count and intervals) for cached paths
+    CoordinateMapper   _cacheMapper;
+    
+    // Constants for decimation
+    public static final String DECIMATE_NONE = "None";
+    public static final String DECIMATE_MINMAX = "MinMax";
+    public static final String DECIMATE_LTTB = "LTTB";
 
 /**
  * Creates a ChartAreaLine.
@@ -16,29 +40,318 @@ public ChartAreaLine()
 }
 
 /**
- * Returns the list of paths for each series.
+ * Returns the decimation algorithm used to reduce points when there are more points than pixels.
+ * MinMax keeps the first, min, max and last point of each pixel column and costs O(width * log(n)).
+ * LTTB (Largest Triangle Three Buckets) keeps one point per bucket and costs O(n).
+ */
+public String getDecimation()  { return _decimation; }
+
+/**
+ * Sets the decimation algorithm used to reduce points when there are more points than pixels.
+ */
+public void setDecimation(String aValue)
+{
+    _decimation = aValue;
+    clearCache(); repaint();
+}
+
+/**
+ * Returns the number of points per pixel above which series are decimated.
+ */
+public double getDecimateThreshold()  { return _decimateThreshold; }
+
+/**
+ * Sets the number of points per pixel above which series are decimated.
+ */
+public void setDecimateThreshold(double aValue)
+{
+    _decimateThreshold = aValue;
+    clearCache(); repaint();
+}
+
+/**
+ * Returns the minimum spacing between points (in pixels) at which point markers are drawn.
+ */
+public double getMarkerSpacing()  { return _markerSpacing; }
+
+/**
+ * Sets the minimum spacing between points (in pixels) at which point markers are drawn.
+ */
+public void setMarkerSpacing(double aValue)
+{
+    if(aValue==_markerSpacing) return;
+    _markerSpacing = aValue;
+    clearCache(); repaint();
+}
+
+/**
+ * Returns whether series should be decimated for current size.
+ */
+public boolean isDecimating()
+{
+    if(_decimation==null || _decimation.equals(DECIMATE_NONE)) return false;
+    double w = getWidth() - getInsetsAll().getWidth();
+    return getPointCount() > w*_decimateThreshold;
+}
+
+/**
+ * Returns whether point markers should be drawn (false if points are too dense).
+ */
+public boolean isShowMarkers()
+{
+    int pointCount = getPointCount(); if(pointCount<2) return true;
+    double w = getWidth() - getInsetsAll().getWidth();
+    return w/(pointCount-1) >= _markerSpacing;
+}
+
+/**
+ * Returns the list of paths for each active series (cached for current size and intervals).
  */
 public List <Path> getSeriesPaths()
+{
+    validateCache();
+    return _seriesPaths;
+}
+
+/**
+ * Returns the marker points x values for each active series (null if markers aren't shown).
+ */
+public double[][] getMarkerXs()  { validateCache(); return _markerXs; }
+
+/**
+ * Returns the marker points y values for each active series (null if markers aren't shown).
+ */
+public double[][] getMarkerYs()  { validateCache(); return _markerYs; }
+
+/**
+ * Returns a single path of all point markers for each active series (null if markers aren't shown).
+ */
+public List <Path> getMarkerPaths()  { validateCache(); return _markerPaths; }
+
+/**
+ * Makes sure cached paths and marker points are valid for current size and intervals.
+ */
+protected void validateCache()
+{
+    // If cache valid for coordinate mapper (size, point count and intervals), just return
+    CoordinateMapper cmap = getCoordMapper();
+    if(_seriesPaths!=null && cmap==_cacheMapper) return;
+    
+    // Create paths and marker points
+    _seriesPaths = createSeriesPaths();
+    createMarkerPoints();
+    _cacheMapper = cmap;
+}
+
+/**
+ * Override to clear cached paths and marker points.
+ */
+protected void clearCache()  { super.clearCache(); _seriesPaths = _markerPaths = null; _markerXs = _markerYs = null; }
+
+/**
+ * Creates the marker points for active series (if markers shown).
+ */
+protected void createMarkerPoints()
+{
+    // If markers not shown, just clear
+    _markerXs = _markerYs = null; _markerPaths = null; if(!isShowMarkers()) return;
+    
+    // Iterate over active series and create x/y arrays
+    List <DataSeries> seriesList = getActiveSeries(); int scount = seriesList.size(), pointCount = getPointCount();
+    CoordinateMapper cmap = getCoordMapper();
+    double xs[][] = new double[scount][], ys[][] = new double[scount][];
+    for(int i=0; i<scount;i++) { DataSeries series = seriesList.get(i);
+        int count = Math.min(pointCount, series.getPointCount());
+        xs[i] = new double[count]; ys[i] = new double[count]; cmap.mapIndexes(xs[i], count);
+        for(int j=0;j<count;j++) ys[i][j] = cmap.mapY(series.getValueX(j));
+    }
+    _markerXs = xs; _markerYs = ys;
+    
+    // Create combined marker path for each series
+    _markerPaths = new ArrayList(scount);
+    for(int i=0; i<scount;i++) { Shape marker = getMarkerShape(seriesList.get(i).getIndex());
+        _markerPaths.add(createMarkersPath(marker, xs[i], ys[i])); }
+}
+
+/**
+ * Creates a single path with given marker shape centered at each of given points.
+ */
+protected Path createMarkersPath(Shape aShape, double theXs[], double theYs[])
+{
+    // Get marker segments and coords once (centered on origin)
+    Rect bnds = aShape.getBounds(); double ox = bnds.getMidX(), oy = bnds.getMidY();
+    List <Seg> segs = new ArrayList(); double coords[] = new double[48], pts[] = new double[6]; int ccount = 0;
+    for(PathIter piter=aShape.getPathIter(null); piter.hasNext();) { Seg seg = piter.getNext(pts); segs.add(seg);
+        int n = seg==Seg.MoveTo || seg==Seg.LineTo? 2 : seg==Seg.QuadTo? 4 : seg==Seg.CubicTo? 6 : 0;
+        if(ccount+n>coords.length) coords = Arrays.copyOf(coords, coords.length*2);
+        for(int k=0;k<n;k+=2) { coords[ccount++] = pts[k] - ox; coords[ccount++] = pts[k+1] - oy; }
+    }
+    
+    // Append marker segments offset to each point
+    Path path = new Path();
+    for(int j=0;j<theXs.length;j++) { double x = theXs[j], y = theYs[j]; int c = 0;
+        for(Seg seg : segs) switch(seg) {
+            case MoveTo: path.moveTo(x + coords[c++], y + coords[c++]); break;
+            case LineTo: path.lineTo(x + coords[c++], y + coords[c++]); break;
+            case QuadTo: path.quadTo(x + coords[c++], y + coords[c++], x + coords[c++], y + coords[c++]); break;
+            case CubicTo: path.curveTo(x + coords[c++], y + coords[c++], x + coords[c++], y + coords[c++],
+                x + coords[c++], y + coords[c++]); break;
+            case Close: path.close(); break;
+        }
+    }
+    return path;
+}
+
+/**
+ * Creates the list of paths for each active series.
+ */
+protected List <Path> createSeriesPaths()
 {
     // Get series paths
     List <Path> paths = new ArrayList();
     int seriesCount = getSeriesCount();
     int pointCount = getPointCount();
+    CoordinateMapper cmap = getCoordMapper();
+    
+    // Get decimation
+    boolean decimate = isDecimating();
+    boolean lttb = decimate && getDecimation().equals(DECIMATE_LTTB);
     
     // Iterate over series
     for(int i=0; i<seriesCount;i++) { DataSeries series = getSeries(i); if(series.isDisabled()) continue;
     
+        // If decimating, add decimated path and continue
+        if(decimate) {
+            paths.add(lttb? getSeriesPathLTTB(series, cmap) : getSeriesPathMinMax(series, cmap)); continue; }
+    
         Path path = new Path(); paths.add(path);
+        int count = Math.min(pointCount, series.getPointCount());
         
-        // Iterate over values
-        for(int j=0;j<pointCount;j++) { double val = series.getValueX(j);
-            Point p = seriesToLocal(j, val);
-            if(j==0) path.moveTo(p.x,p.y); else path.lineTo(p.x,p.y);
+        // Iterate over values (read by index, so ring series don't copy window to array)
+        for(int j=0;j<count;j++) { double x = cmap.mapX(j), y = cmap.mapY(series.getValueX(j));
+            if(j==0) path.moveTo(x,y); else path.lineTo(x,y);
         }
     }
     return paths;
 }
 
+/**
+ * Returns the path for series decimated to the first, min, max and last point of each pixel column. Since first and
+ * last values are read by index and the min/max of each column comes from series stats (without copying values),
+ * cost is proportional to plot width (times log of point count).
+ */
+protected Path getSeriesPathMinMax(DataSeries aSeries, CoordinateMapper aMapper)
+{
+    // Get point count, plot width and points per pixel column
+    Path path = new Path();
+    int count = Math.min(getPointCount(), aSeries.getPointCount()); if(count==0) return path;
+    double w = getWidth() - getInsetsAll().getWidth(), ppc = (count-1)/w;
+    
+    // Iterate over pixel columns
+    for(int i=0, iMax=(int)Math.ceil(w); i<=iMax; i++) {
+        
+        // Get point range for column (start inclusive, end exclusive)
+        int start = (int)Math.ceil(i*ppc), end = Math.min((int)Math.ceil((i+1)*ppc), count);
+        if(start>=end) continue;
+        
+        // Add first point, then min and max (if column has more than two points), then last point
+        double x = aMapper.mapX(start), y = aMapper.mapY(aSeries.getValueX(start));
+        if(start==0) path.moveTo(x, y); else path.lineTo(x, y);
+        if(end-start>2) {
+            double min = aSeries.getMinValue(start, end), max = aSeries.getMaxValue(start, end);
+            double midX = aMapper.mapX((start + end - 1)/2d);
+            path.lineTo(midX, aMapper.mapY(min));
+            path.lineTo(midX, aMapper.mapY(max));
+        }
+        if(end-start>1)
+            path.lineTo(aMapper.mapX(end-1), aMapper.mapY(aSeries.getValueX(end-1)));
+    }
+    
+    // Return path
+    return path;
+}
+
+/**
+ * Returns the path for series decimated with Largest Triangle Three Buckets algorithm: Points are divided into
+ * buckets (two per pixel) and each bucket keeps the point that forms the largest triangle with the point kept
+ * for the previous bucket and the average of the next bucket. Values are read by index (without copying values), so
+ * cost is proportional to point count.
+ */
+protected Path getSeriesPathLTTB(DataSeries aSeries, CoordinateMapper aMapper)
+{
+    // Get point count, bucket count and bucket size
+    Path path = new Path();
+    int count = Math.min(getPointCount(), aSeries.getPointCount()); if(count==0) return path;
+    int buckets = Math.max((int)Math.ceil(getWidth() - getInsetsAll().getWidth())*2, 3);
+    double bucketSize = (count - 2d)/(buckets - 2);
+    
+    // Add first point
+    path.moveTo(aMapper.mapX(0), aMapper.mapY(aSeries.getValueX(0)));
+    
+    // Iterate over inner buckets
+    int a = 0;
+    for(int i=0; i<buckets-2; i++) {
+        
+        // Get average of next bucket
+        int nstart = (int)((i+1)*bucketSize) + 1, nend = Math.min((int)((i+2)*bucketSize) + 1, count);
+        double avgX = 0, avgY = 0; for(int j=nstart;j<nend;j++) { avgX += j; avgY += aSeries.getValueX(j); }
+        int ncount = nend - nstart;
+        if(ncount>0) { avgX /= ncount; avgY /= ncount; }
+        else { avgX = count-1; avgY = aSeries.getValueX(count-1); }
+        
+        // Find point in current bucket with largest triangle area
+        int start = (int)(i*bucketSize) + 1, end = Math.min((int)((i+1)*bucketSize) + 1, count);
+        double ax = a, ay = aSeries.getValueX(a), maxArea = -1; int maxIndex = start;
+        for(int j=start;j<end;j++) {
+            double area = Math.abs((ax - avgX)*(aSeries.getValueX(j) - ay) - (ax - j)*(avgY - ay));
+            if(area>maxArea) { maxArea = area; maxIndex = j; }
+        }
+        
+        // Add point
+        if(maxIndex<count) {
+            path.lineTo(aMapper.mapX(maxIndex), aMapper.mapY(aSeries.getValueX(maxIndex))); a = maxIndex; }
+    }
+    
+    // Add last point and return
+    path.lineTo(aMapper.mapX(count-1), aMapper.mapY(aSeries.getValueX(count-1)));
+    return path;
+}
+
+/**
+ * Override to return bounds of targeted point marker halo.
+ */
+public Rect getDataPointHighlightBounds(DataPoint aDP)
+{
+    // If point isn't drawn, return null
+    DataSeries series = aDP.getSeries(); int index = aDP.getIndex();
+    if(series.isDisabled() || index<0 || index>=Math.min(getPointCount(), series.getPointCount())) return null;
+    
+    // Return bounds of halo (plus white marker stroke)
+    CoordinateMapper cmap = getCoordMapper();
+    double x = cmap.mapX(index), y = cmap.mapY(series.getValueX(index));
+    return new Rect(x - 13, y - 13, 26, 26);
+}
+
+/**
+ * Override to add bounds of old and new targeted series paths if series changed (since target series is drawn wider).
+ */
+protected Rect getDataPointChangeBounds(DataPoint oldDP, DataPoint newDP)
+{
+    // Get marker highlight bounds (just return if series hasn't changed)
+    Rect bnds = super.getDataPointChangeBounds(oldDP, newDP);
+    DataSeries s0 = oldDP!=null? oldDP.getSeries() : null, s1 = newDP!=null? newDP.getSeries() : null;
+    if(s0==s1) return bnds;
+    
+    // Add old and new series path bounds (outset for wide stroke)
+    List <Path> paths = getSeriesPaths();
+    for(DataSeries series : new DataSeries[] { s0, s1 }) {
+        int index = series!=null? series.getActiveIndex() : -1; if(index<0 || index>=paths.size()) continue;
+        Rect pbnds = paths.get(index).getBounds().clone(); pbnds.inset(-2);
+        bnds = bnds==null? pbnds : bnds.getUnionRect(pbnds);
+    }
+    return bnds;
+}
+
 /**
  * Paints chart.
  */
@@ -65,25 +378,22 @@ protected void paintChart(Painter aPntr, double aX, double aY, double aW, double
         aPntr.draw(path);
     }
     
-    // Draw series points
-    for(int i=0; i<scount;i++) { DataSeries series = seriesList.get(i);
+    // Draw series point markers with one fill per series (if points are too dense, markers path list is null)
+    List <Path> markerPaths = getMarkerPaths();
+    if(markerPaths!=null) for(int i=0;i<markerPaths.size();i++) { DataSeries series = seriesList.get(i);
+        aPntr.setColor(getColor(series.getIndex())); aPntr.fill(markerPaths.get(i)); }
     
-        // Iterate over values
-        for(int j=0;j<pointCount;j++) { double val = series.getValueX(j);
-        
-            Point p = seriesToLocal(j, val);
-            
-            Shape marker = getMarkerShape(series.getIndex()).copyFor(new Transform(p.x-4,p.y-4));
-            Color c = getColor(series.getIndex());
-            
-            if(series==selSeries && j==selIndex) {
-                aPntr.setColor(c.blend(Color.CLEARWHITE, .5));
-                aPntr.fill(new Ellipse(p.x-10,p.y-10,20,20));
-                aPntr.setStroke(Stroke5); aPntr.setColor(Color.WHITE); aPntr.draw(marker);
-                aPntr.setStroke(Stroke3); aPntr.setColor(c); aPntr.draw(marker);
-            }
-            aPntr.setColor(c); aPntr.fill(marker);
-        }
+    // Draw selected point marker
+    if(selSeries!=null && selIndex>=0 && selIndex<Math.min(pointCount, selSeries.getPointCount())) {
+        CoordinateMapper cmap = getCoordMapper();
+        Point p = new Point(cmap.mapX(selIndex), cmap.mapY(selSeries.getValueX(selIndex)));
+        Shape marker = getMarkerShape(selSeries.getIndex()).copyFor(new Transform(p.x-4,p.y-4));
+        Color c = getColor(selSeries.getIndex());
+        aPntr.setColor(c.blend(Color.CLEARWHITE, .5));
+        aPntr.fill(new Ellipse(p.x-10,p.y-10,20,20));
+        aPntr.setStroke(Stroke5); aPntr.setColor(Color.WHITE); aPntr.draw(marker);
+        aPntr.setStroke(Stroke3); aPntr.setColor(c); aPntr.draw(marker);
+        aPntr.setColor(c); aPntr.fill(marker);
     }
     
     // If reveal not full, resture gstate
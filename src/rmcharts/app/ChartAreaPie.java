@@ -28,9 +28,11 @@ public class ChartAreaPie extends ChartArea {
     DecimalFormat _fmt = new DecimalFormat("#.# %");
     
     // Constants
-    static double LABEL_MARGIN = 30;
-    static double LABEL_PAD = 3;
-    static double PAD_TOP = 30, PAD_BOTTOM = 20, PAD_BOTTOM_MAX = 40;
+    static final double LABEL_MARGIN = 30;
+    static final double LABEL_PAD = 3;
+    static final double PAD_TOP = 30, PAD_BOTTOM = 20, PAD_BOTTOM_MAX = 40;
+    static final double TARG_GROW = 10, SEL_OFFSET = 10;
+    static final Stroke WEDGE_STROKE = Stroke.Stroke1;
 
 /**
  * Creates a ChartAreaPie.
@@ -85,13 +87,16 @@ protected Wedge[] getWedges()
     _pieX = ins.left + Math.round((cw - ins.getWidth() - _pieD)/2);
     _pieY = ins.top + Math.round((ch - ins.getHeight() - _pieD)/2);
         
-    // Iterate over angles and create/configure wedges
-    Wedge wedges[] = new Wedge[angles.length]; double start = 0;
+    // Iterate over angles and create/configure wedges (label text size is measured once here)
+    Wedge wedges[] = new Wedge[angles.length]; double start = 0; Font font = getFont();
     for(int i=0; i<angles.length; i++) { double angle = angles[i];
         Wedge wedge = wedges[i] = new Wedge(); wedge._start = start; wedge._angle = angle;
         String text = series.getPoint(i).getKeyString();
-        if(text!=null && text.length()>0)
+        if(text!=null && text.length()>0) {
             wedge._text = text + ": " + _fmt.format(ratios[i]);
+            wedge._tw = TextMetrics.getStringWidth(font, wedge._text);
+            wedge._th = TextMetrics.getStringHeight(font, wedge._text);
+        }
         start += angle;
     }
     
@@ -116,7 +121,7 @@ protected void paintChart(Painter aPntr, double aX, double aY, double aW, double
     double selPointMorph = getSelDataPointMorph();
 
     // Set font
-    aPntr.setFont(getFont()); aPntr.setStroke(Stroke.Stroke1);
+    aPntr.setFont(getFont()); aPntr.setStroke(WEDGE_STROKE);
     
     // Iterate over wedges and paint wedge
     for(int i=0; i<wedges.length; i++) { Wedge wedge = wedges[i]; Color color = _chartView.getColor(i);
@@ -132,8 +137,8 @@ protected void paintChart(Painter aPntr, double aX, double aY, double aW, double
         Arc arc = wedge.getArc(i==selIndex, false, i==selIndexLast, reveal, selPointMorph);
         aPntr.setColor(color); aPntr.fill(arc);
         
-        // Paint connector and white border
-        if(reveal>=1) aPntr.draw(wedge.getLabelLine());
+        // Paint connector (if label shown) and white border
+        if(reveal>=1 && wedge._text!=null) aPntr.draw(wedge.getLabelLine());
         aPntr.setColor(Color.WHITE); aPntr.draw(arc);
     }
     
@@ -165,6 +170,17 @@ protected DataPoint getDataPointAt(double aX, double aY)
     return null;
 }
 
+/**
+ * Override to return bounds of wedge (outset for targeted wedge growth or selected wedge offset, plus wedge stroke).
+ */
+public Rect getDataPointHighlightBounds(DataPoint aDP)
+{
+    Wedge wedges[] = getWedges(); int index = aDP.getIndex(); if(index<0 || index>=wedges.length) return null;
+    Rect bnds = wedges[index].getArc().getBounds().clone();
+    bnds.inset(-(Math.max(TARG_GROW, SEL_OFFSET) + WEDGE_STROKE.getWidth()));
+    return bnds;
+}
+
 /**
  * Override to return current mouse point.
  */
@@ -224,7 +240,7 @@ public void reactivate()
 /**
  * Clears the wedges cache.
  */
-protected void clearCache()  { _wedges = null; }
+protected void clearCache()  { super.clearCache(); _wedges = null; }
 
 /**
  * Override to clear wedge cache.
@@ -237,7 +253,16 @@ public void setWidth(double aValue)  { super.setWidth(aValue); clearCache(); }
 public void setHeight(double aValue)  { super.setHeight(aValue); clearCache(); }
 
 /**
- * Sets label points such that they don't overlap.
+ * Override to clear wedge cache (label sizes depend on font).
+ */
+public void setFont(Font aFont)  { super.setFont(aFont); clearCache(); }
+
+/**
+ * Sets label points such that they don't overlap. Labels on each side of the pie are swept from top to bottom (wedge
+ * order) and each label that overlaps the label above it is moved directly to the angle where it clears it vertically
+ * (instead of stepping a degree at a time), so layout is linear in wedge count. If the angle is clamped at the bottom
+ * of the label circle (crowded small wedges) and the label still overlaps, it is pushed straight down below the label
+ * above, and hidden if that pushes it out of the chart area.
  */
 void setLabelPoints(Wedge wedges[])
 {
@@ -245,25 +270,46 @@ void setLabelPoints(Wedge wedges[])
     if(wedges.length==0) return;
     wedges[0].getLabelPoint(); wedges[wedges.length-1].getLabelPoint();
     
-    // Set label points for pie right side
+    // Get label radius and label point y at pie center (label point y is label top plus ascent)
+    double labelR = _pieR + LABEL_MARGIN, centerY = _pieY + _pieR + getFont().getAscent();
+    
+    // Set label points for pie right side (angles increase going down)
     for(int i=1; i<wedges.length; i++) { Wedge wedge = wedges[i], wedge2 = wedges[i-1];
         if(wedge.getAngleMid()>90) break;
         double angle = Math.max(wedge.getAngleMid(), wedge2._textAngle+2);
         wedge.getLabelPoint(angle);
-        while(wedge.labelIntersects(wedge2))
-            wedge.getLabelPoint(angle+=1);
+        if(wedge.labelIntersects(wedge2)) {
+            double sin = (wedge2._textPoint.y + wedge2._th + LABEL_PAD*2 + .5 - centerY)/labelR;
+            double angle2 = sin<1? Math.toDegrees(Math.asin(Math.max(sin, -1))) : 90;
+            wedge.getLabelPoint(Math.max(angle, Math.ceil(angle2)));
+            if(wedge.labelIntersects(wedge2)) pushLabelBelow(wedge, wedge2);
+        }
     }
     
-    // Set label points for pie left side
+    // Set label points for pie left side (angles decrease going down)
     for(int i=wedges.length-2; i>=0; i--) { Wedge wedge = wedges[i], wedge2 = wedges[i+1];
         if(wedge.getAngleMid()<90) break;
         double angle = Math.min(wedge.getAngleMid(), wedge2._textAngle-2);
         wedge.getLabelPoint(angle);
-        while(wedge.labelIntersects(wedge2))
-            wedge.getLabelPoint(angle-=1);
+        if(wedge.labelIntersects(wedge2)) {
+            double sin = (wedge2._textPoint.y + wedge2._th + LABEL_PAD*2 + .5 - centerY)/labelR;
+            double angle2 = sin<1? 180 - Math.toDegrees(Math.asin(Math.max(sin, -1))) : 90;
+            wedge.getLabelPoint(Math.min(angle, Math.floor(angle2)));
+            if(wedge.labelIntersects(wedge2)) pushLabelBelow(wedge, wedge2);
+        }
     }
 }
 
+/**
+ * Moves given wedge label straight down to clear given wedge label above it (hiding it if pushed out of chart area).
+ */
+void pushLabelBelow(Wedge aWedge, Wedge aWedgeAbove)
+{
+    double y = Math.ceil(aWedgeAbove._textPoint.y + aWedgeAbove._th + LABEL_PAD*2 + .5);
+    aWedge._textPoint = new Point(aWedge._textPoint.x, y);
+    if(y - getFont().getAscent() + aWedge._th > getHeight()) aWedge._text = null;
+}
+
 /** Changes padding to have an extra 20 points on bottom if label needed there. */
 void fixPaddingForBottomLabelIfNeeded()
 {
@@ -353,19 +399,19 @@ private class Wedge {
         double start = -90 + _start*aReveal, angle = _angle*aReveal;
         double px = _pieX, py = _pieY, diam = _pieD;
         
-        // If targeted, increase diam by 20
-        if(isTarg) { diam += 20; px -= 10; py -= 10; }
+        // If targeted, grow radius by targeted growth
+        if(isTarg) { diam += TARG_GROW*2; px -= TARG_GROW; py -= TARG_GROW; }
         
-        // If selected, move x/y by 10 points from center of wedge
+        // If selected, move x/y by selected offset from center of wedge
         if(isSel) {
             double ang2 = Math.toRadians(start + angle/2);
-            px += 10*selMorph*Math.cos(ang2); py += 10*selMorph*Math.sin(ang2);
+            px += SEL_OFFSET*selMorph*Math.cos(ang2); py += SEL_OFFSET*selMorph*Math.sin(ang2);
         }
         
-        // If selected, move x/y by 10 points from center of wedge
+        // If last selected, move x/y back from selected offset
         else if(isSelLast) {
             double ang2 = Math.toRadians(start + angle/2);
-            px += 10*(1-selMorph)*Math.cos(ang2); py += 10*(1-selMorph)*Math.sin(ang2);
+            px += SEL_OFFSET*(1-selMorph)*Math.cos(ang2); py += SEL_OFFSET*(1-selMorph)*Math.sin(ang2);
         }
         
         // If reveal, modify diameter and move to new center
@@ -391,23 +437,20 @@ private class Wedge {
     public Point getLabelPoint(double anAngle)
     {
         _textAngle = anAngle;
-        double angRad = Math.toRadians(anAngle); Font font = getFont();
+        double angRad = Math.toRadians(anAngle);
         double px = _pieX + _pieR + (_pieR+LABEL_MARGIN)*Math.cos(angRad);
-        double py = _pieY + _pieR + (_pieR+LABEL_MARGIN)*Math.sin(angRad) + font.getAscent();
-        Rect bnds = _text!=null? font.getStringBounds(_text) : new Rect(); _tw = bnds.width; _th = bnds.height;
-        if(anAngle>90) px -= bnds.width;
+        double py = _pieY + _pieR + (_pieR+LABEL_MARGIN)*Math.sin(angRad) + getFont().getAscent();
+        if(anAngle>90) px -= _tw;
         px = Math.round(px); py = Math.round(py);
         return _textPoint = new Point(px, py);
     }
     
-    /** Returns whether label rect intersects another wedge label rect. */
+    /** Returns whether label rect intersects another wedge label rect (both padded by label pad). */
     public boolean labelIntersects(Wedge aWedge)
     {
-        Font font = getFont();
-        Rect bnds0 = new Rect(_textPoint.x, _textPoint.y - font.getAscent(), _tw, _th);
-        Rect bnds1 = new Rect(aWedge._textPoint.x, aWedge._textPoint.y - font.getAscent(), aWedge._tw, aWedge._th);
-        bnds0.inset(-LABEL_PAD); bnds1.inset(-LABEL_PAD);
-        return bnds0.intersects(bnds1);
+        double x0 = _textPoint.x, y0 = _textPoint.y, x1 = aWedge._textPoint.x, y1 = aWedge._textPoint.y;
+        return x0 < x1 + aWedge._tw + LABEL_PAD*2 && x1 < x0 + _tw + LABEL_PAD*2 &&
+            y0 < y1 + aWedge._th + LABEL_PAD*2 && y1 < y0 + _th + LABEL_PAD*2;
     }
     
     /** Returns the connector line. */
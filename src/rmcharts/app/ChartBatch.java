@@ -0,0 +1,73 @@
+package rmcharts.app;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * A class to render or serialize many independent charts in parallel on a pool of worker threads.
+ * 
+ * Each chart is loaded into its own ChartView/DataSet by its own ChartRenderer, so workers share no mutable state.
+ * Results are returned in the order of the given chart specs.
+ */
+public class ChartBatch {
+    
+    // The number of worker threads
+    int                _threadCount;
+
+/**
+ * Creates a ChartBatch with a worker thread for each available processor.
+ */
+public ChartBatch()  { this(Runtime.getRuntime().availableProcessors()); }
+
+/**
+ * Creates a ChartBatch with given number of worker threads.
+ */
+public ChartBatch(int aThreadCount)  { _threadCount = Math.max(aThreadCount, 1); }
+
+/**
+ * Returns the number of worker threads.
+ */
+public int getThreadCount()  { return _threadCount; }
+
+/**
+ * Renders given chart JSON specs to PNG bytes at given size.
+ */
+public List <byte[]> renderPNGs(List <String> theSpecs, int aW, int aH)
+{
+    return process(theSpecs, (rndr, spec) -> rndr.renderPNG(spec, aW, aH));
+}
+
+/**
+ * Loads given chart JSON specs and writes them back to JSON strings with ChartWriter.
+ */
+public List <String> writeStrings(List <String> theSpecs)
+{
+    return process(theSpecs, (rndr, spec) -> new ChartWriter(rndr.loadChart(spec, 600, 400)).getString());
+}
+
+/**
+ * Runs given function for each chart spec with a new renderer and returns results in spec order.
+ */
+public <T> List <T> process(List <String> theSpecs, BiFunction <ChartRenderer,String,T> aFunc)
+{
+    // Create pool and submit a task for each spec
+    ExecutorService pool = Executors.newFixedThreadPool(_threadCount);
+    List <Future<T>> futures = new ArrayList(theSpecs.size());
+    for(String spec : theSpecs)
+        futures.add(pool.submit(() -> aFunc.apply(new ChartRenderer(), spec)));
+    
+    // Get results (complain and add null for failed charts) and shut down pool
+    List <T> results = new ArrayList(theSpecs.size());
+    try {
+        for(Future<T> future : futures) {
+            try { results.add(future.get()); }
+            catch(ExecutionException e) {
+                System.err.println("ChartBatch.process: Chart failed: " + e.getCause()); results.add(null); }
+        }
+    }
+    catch(InterruptedException e) { Thread.currentThread().interrupt(); throw new RuntimeException(e); }
+    finally { pool.shutdownNow(); }
+    return results;
+}
+
+}
@@ -1,17 +1,51 @@
 package rmcharts.app;
-import java.util.List;
+import java.util.*;
 import snap.gfx.*;
-import snap.util.ArrayUtils;
+import snap.util.SnapUtils;
 import snap.view.*;
 
 /**
  * A view to display chart legend.
+ *
+ * Rows are kept between reloads and only changed rows (name, color, marker or enabled state) are updated. If there
+ * are more series than rows that fit, only the rows that fit are created, and mouse wheel scrolls through series.
  */
 public class ChartLegend extends ColView {
-    
+
     // The ChartView
-    ChartView    _chartView;
+    ChartView          _chartView;
+
+    // The legend rows
+    List <LegendRow>   _rows = new ArrayList();
+
+    // The index of series in first row (if there are more series than rows that fit)
+    int                _start;
+
+    // The max number of rows that fit (from last update)
+    int                _maxRows;
+
+    // The label to show range of series shown (if there are more series than rows that fit)
+    StringView         _moreLabel;
     
+    // A runnable to update rows (deferred from layout, so rows aren't added or removed during layout)
+    Runnable           _updateRowsLater, _updateRowsRun = () -> { _updateRowsLater = null; updateRows(); };
+
+    // Constants
+    static final Font   ROW_FONT = Font.Arial12.deriveFont(13).getBold();
+    static final double MARKER_SIZE = 20;
+    static final int    MAX_ROWS_DEFAULT = 20;
+
+/**
+ * Creates a ChartLegend.
+ */
+public ChartLegend()
+{
+    enableEvents(Scroll);
+    _moreLabel = new StringView(); _moreLabel.setFont(Font.Arial11); _moreLabel.setTextFill(Color.GRAY);
+    _moreLabel.setVisible(false);
+    addChild(_moreLabel);
+}
+
 /**
  * Returns the ChartView.
  */
@@ -20,56 +54,154 @@ public ChartView getChartView()  { return _chartView!=null? _chartView : (_chart
 /**
  * Reloads legend contents.
  */
-public void reloadContents()
+public void reloadContents()  { updateRows(); }
+
+/**
+ * Updates rows for current series, reusing existing rows and adding or removing rows as needed.
+ */
+protected void updateRows()
 {
-    ChartView chart = getChartView();
-    DataSet dset = chart.getDataSet();
-    List <DataSeries> allSeries = dset.getSeries();
-    removeChildren();
-
-    for(int i=0; i<dset.getSeriesCount(); i++) { DataSeries series = dset.getSeries(i);
-        
-        // Get marker Shape (if LineChart, add crossbar)
-        Shape shp = chart.getMarkerShape(i); shp = shp.copyFor(new Transform(6, 6));
-        if(chart.getType()==ChartView.LINE_TYPE) {
-            Shape shp1 = new Rect(2,9,16,2);
-            shp = Shape.add(shp, shp1);
-        }
-        
-        // Create marker ShapeView
-        ShapeView shpView = new ShapeView(shp); shpView.setPrefSize(20,20);
-        
-        // Set color
-        shpView.setFill(chart.getColor(i));
-        
-        StringView sview = new StringView(); sview.setFont(Font.Arial12.deriveFont(13).getBold());
-        sview.setText(series.getName());
-        if(series.isDisabled()) { shpView.setFill(Color.LIGHTGRAY); sview.setTextFill(Color.LIGHTGRAY); }
-        RowView row = new RowView(); row.addChild(shpView); row.addChild(sview);
-        addChild(row);
-        
-        // Register row to enable/disable
-        row.addEventHandler(e -> rowWasClicked(row), MouseRelease);
-        //shpView.setPickable(false); sview.setPickable(false);
+    // Get series count and number of rows to show (one less if virtualized, to make room for more label)
+    DataSet dset = getChartView().getDataSet();
+    int count = dset.getSeriesCount(); _maxRows = getMaxRowCount();
+    boolean virtual = count>_maxRows;
+    int rowCount = virtual? Math.max(_maxRows - 1, 1) : count;
+    _start = virtual? Math.max(Math.min(_start, count - rowCount), 0) : 0;
+
+    // Update existing rows in place and add new rows as needed
+    for(int i=0; i<rowCount; i++) {
+        LegendRow row = i<_rows.size()? _rows.get(i) : addRow();
+        row.update(_start + i);
     }
+
+    // Remove extra rows
+    while(_rows.size()>rowCount)
+        removeChild(_rows.remove(_rows.size()-1));
+
+    // Update more label
+    _moreLabel.setVisible(virtual);
+    if(virtual) _moreLabel.setText((_start+1) + "-" + (_start+rowCount) + " of " + count);
 }
 
 /**
- * Called when legend row is clicked.
+ * Creates and adds a new row (before more label).
  */
-void rowWasClicked(RowView aRow)
+LegendRow addRow()
 {
-    // Get row/series index
-    int index = ArrayUtils.indexOf(getChildren(), aRow);
+    LegendRow row = new LegendRow();
+    row.addEventHandler(e -> rowWasClicked(row), MouseRelease);
+    addChild(row, _rows.size()); _rows.add(row);
+    return row;
+}
+
+/**
+ * Returns the max number of rows that fit in available height (or default, if not yet laid out).
+ */
+protected int getMaxRowCount()
+{
+    ParentView par = getParent(); double h = par!=null? par.getHeight() : 0;
+    return h>0? Math.max((int)(h/getRowHeight()), 1) : MAX_ROWS_DEFAULT;
+}
+
+/**
+ * Returns the height of a row: Measured pref height of first row if available, otherwise from marker size and font.
+ */
+protected double getRowHeight()
+{
+    double h = _rows.size()>0? _rows.get(0).getPrefHeight() : 0;
+    return h>0? h : Math.max(MARKER_SIZE, Math.ceil(ROW_FONT.getLineHeight()));
+}
 
+/**
+ * Override to schedule row update (after layout) if available height changes number of rows that fit.
+ */
+protected void layoutImpl()
+{
+    if(getMaxRowCount()!=_maxRows && _updateRowsLater==null)
+        getEnv().runLater(_updateRowsLater = _updateRowsRun);
+    super.layoutImpl();
+}
+
+/**
+ * Handle events.
+ */
+protected void processEvent(ViewEvent anEvent)
+{
+    // Handle Scroll: Shift rows by a series (if virtualized)
+    if(anEvent.isScroll() && _moreLabel.isVisible()) {
+        double dy = anEvent.getScrollY(); if(dy==0) return;
+        _start += dy>0? 1 : -1; updateRows();
+        anEvent.consume();
+    }
+}
+
+/**
+ * Called when legend row is clicked.
+ */
+void rowWasClicked(LegendRow aRow)
+{
     // Get series and disable
     ChartView chart = getChartView();
     DataSet dset = chart.getDataSet();
-    DataSeries series = dset.getSeries(index);
+    DataSeries series = dset.getSeries(aRow._index);
     series.setDisabled(!series.isDisabled());
-    
+
     // Redraw chart and reload legend
     chart.reloadContents(true);
 }
 
-}
\ No newline at end of file
+/**
+ * A class for a legend row (marker and series name), which only updates parts that change.
+ */
+class LegendRow extends RowView {
+
+    // The marker view and name view
+    ShapeView    _shpView = new ShapeView();
+    StringView   _sview = new StringView();
+
+    // The series index and the marker shape, line type, color, name and disabled state last shown
+    int          _index = -1;
+    Shape        _marker;
+    boolean      _line, _disabled;
+    Color        _color;
+    String       _name;
+
+    /** Creates a LegendRow. */
+    public LegendRow()
+    {
+        _shpView.setPrefSize(MARKER_SIZE, MARKER_SIZE);
+        _sview.setFont(ROW_FONT);
+        addChild(_shpView); addChild(_sview);
+        //_shpView.setPickable(false); _sview.setPickable(false);
+    }
+
+    /** Updates row for series at given index. */
+    public void update(int anIndex)
+    {
+        // Get series info
+        ChartView chart = getChartView(); DataSeries series = chart.getDataSet().getSeries(anIndex);
+        Shape marker = chart.getMarkerShape(anIndex); boolean line = chart.getType()==ChartView.LINE_TYPE;
+        Color color = chart.getColor(anIndex); String name = series.getName(); boolean disabled = series.isDisabled();
+        boolean isNew = _index<0; _index = anIndex;
+
+        // Update marker Shape (if LineChart, add crossbar)
+        if(isNew || marker!=_marker || line!=_line) {
+            Shape shp = marker.copyFor(new Transform(6, 6));
+            if(line) shp = Shape.add(shp, new Rect(2,9,16,2));
+            _shpView.setPath(shp); _marker = marker; _line = line;
+        }
+
+        // Update color and enabled state
+        if(isNew || !color.equals(_color) || disabled!=_disabled) {
+            _shpView.setFill(disabled? Color.LIGHTGRAY : color);
+            _sview.setTextFill(disabled? Color.LIGHTGRAY : Color.BLACK);
+            _color = color; _disabled = disabled;
+        }
+
+        // Update name
+        if(isNew || !SnapUtils.equals(name, _name)) {
+            _sview.setText(name); _name = name; }
+    }
+}
+
+}
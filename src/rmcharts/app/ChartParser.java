@@ -11,42 +11,96 @@ public class ChartParser {
     
     // The chart view
     ChartView     _chartView;
+    
+    // Whether to stream series data straight into series (instead of building full JSON node tree)
+    boolean       _streaming = true;
 
 /**
  * Create ChartParser for given ChartView.
  */
 public ChartParser(ChartView aGV)  { _chartView = aGV; }
 
+/**
+ * Returns whether to stream series data straight into series (instead of building full JSON node tree).
+ */
+public boolean isStreaming()  { return _streaming; }
+
+/**
+ * Sets whether to stream series data straight into series (instead of building full JSON node tree).
+ */
+public void setStreaming(boolean aValue)  { _streaming = aValue; }
+
 /**
  * Parse given JSON string.
  */
 public void parseString(String aStr)
 {
+    // Suspend dataset cache clear/reload until parse is done
+    DataSet dset = _chartView.getDataSet();
+    dset.beginUpdate();
+    try { parseStringImpl(aStr); }
+    finally { dset.endUpdate(); }
+}
+
+/**
+ * Parse given JSON string.
+ */
+protected void parseStringImpl(String aStr)
+{
+    // If streaming, go there instead
+    if(isStreaming()) { parseStringStreaming(aStr); return; }
+    
     JSONNode json = new JSONParser().readString(aStr);
     
     if(json.isObject())
         parseChart(json);
 }
 
+/**
+ * Parse given JSON string with JSONReader, building nodes only for small config sections.
+ */
+protected void parseStringStreaming(String aStr)
+{
+    // Complain if not object
+    JSONReader reader = new JSONReader(aStr);
+    if(reader.peek()!='{') { System.err.println("ChartParser.parseStringStreaming: JSON is not object"); return; }
+    
+    // Iterate over object keys: Stream series, parse anything else as node
+    if(reader.readStart('{')) do { String key = reader.readKey();
+        if(key.equalsIgnoreCase("series")) parseSeries(reader);
+        else {
+            String text = reader.readValueText();
+            JSONNode node = new JSONParser().readString(text);
+            parseNode(key, node);
+        }
+    } while(reader.readNext('}'));
+}
+
 /**
  * Parse given JSON object.
  */
 protected void parseChart(JSONNode aNode)
 {
-    for(JSONNode child : aNode.getNodes()) { String key = child.getKey();
-        
-        switch(key.toLowerCase()) {
-            case "chart": parseChartNode(child); break;
-            case "colors": parseColors(child); break;
-            case "legend": parseLegend(child); break;
-            case "plotoptions": parsePlotOptions(child); break;
-            case "series": parseSeries(child); break;
-            case "subtitle": parseSubtitle(child); break;
-            case "title": parseTitle(child); break;
-            case "xaxis": parseXAxis(child); break;
-            case "yaxis": parseYAxis(child); break;
-            default: System.out.println("Unsupported node: " + key);
-        }
+    for(JSONNode child : aNode.getNodes())
+        parseNode(child.getKey(), child);
+}
+
+/**
+ * Parse given top level JSON node for key.
+ */
+protected void parseNode(String aKey, JSONNode aNode)
+{
+    switch(aKey.toLowerCase()) {
+        case "chart": parseChartNode(aNode); break;
+        case "colors": parseColors(aNode); break;
+        case "legend": parseLegend(aNode); break;
+        case "plotoptions": parsePlotOptions(aNode); break;
+        case "series": parseSeries(aNode); break;
+        case "subtitle": parseSubtitle(aNode); break;
+        case "title": parseTitle(aNode); break;
+        case "xaxis": parseXAxis(aNode); break;
+        case "yaxis": parseYAxis(aNode); break;
+        default: System.out.println("Unsupported node: " + aKey);
     }
 }
 
@@ -499,7 +553,7 @@ protected void parseSeriesData(JSONNode aNode, DataSeries aSeries)
     
         // Handle Node is object
         if(dataNode.isObject()) {
-            String name = null; double val = 0;
+            String name = null; Double val = null;
             
             // Iterate over nodes
             for(JSONNode child : dataNode.getNodes()) { String key = child.getKey();
@@ -509,17 +563,21 @@ protected void parseSeriesData(JSONNode aNode, DataSeries aSeries)
                     case "name": name = child.getString(); break;
                     
                     // Handle y
-                    case "y": val = SnapUtils.doubleValue(child.getNumber()); break;
+                    case "y": val = child.isNull()? null : SnapUtils.doubleValue(child.getNumber()); break;
                     
                     // Handle default (complain)
                     default: System.out.println("Unsupported node: series[]." + key + " = " + child.getString());
                 }
             }
             
-            // Add point
+            // Add point (value is null if no y)
             aSeries.addPoint(name, val);
         }
         
+        // Handle Node is null: Add null point
+        else if(dataNode.isNull())
+            aSeries.addPoint(null, null);
+        
         // Handle Node is number
         else {
             Number value = dataNode.getNumber();
@@ -529,6 +587,132 @@ protected void parseSeriesData(JSONNode aNode, DataSeries aSeries)
     }
 }
     
+/**
+ * Parse series array with JSONReader.
+ */
+protected void parseSeries(JSONReader aReader)
+{
+    // Complain if not series
+    if(aReader.peek()!='[') {
+        System.err.println("ChartParser.parseSeries: Series is not array"); aReader.skipValue(); return; }
+    
+    // Iterate over array
+    int i = 0;
+    if(aReader.readStart('[')) do {
+    
+        // Create series
+        DataSeries series = new DataSeries();
+        _chartView.addSeries(series);
+        
+        // Iterate over keys
+        if(aReader.readStart('{')) do { String key = aReader.readKey();
+            switch(key.toLowerCase()) {
+                
+                // Handle name
+                case "name": series.setName(readString(aReader)); break;
+                
+                // Handle data
+                case "data": parseSeriesData(aReader, series); break;
+                
+                // Handle default (complain)
+                default: System.out.println("Unsupported node: series[" + i + "]." + key + " = " + aReader.readValueText());
+            }
+        } while(aReader.readNext('}'));
+        i++;
+    } while(aReader.readNext(']'));
+}
+
+/**
+ * Parse series data array with JSONReader, reading values straight into primitive buffer.
+ */
+protected void parseSeriesData(JSONReader aReader, DataSeries aSeries)
+{
+    // Complain if not series
+    if(aReader.peek()!='[') {
+        System.err.println("ChartParser.series.data: Series.data is not array"); aReader.skipValue(); return; }
+    
+    // Create values buffer (and names buffer and nulls bitset, if names or nulls are found)
+    double vals[] = new double[64]; String names[] = null; BitSet nulls = null; int count = 0;
+    
+    // Iterate over array
+    if(aReader.readStart('[')) do {
+        
+        // Grow buffers, if needed
+        if(count==vals.length) {
+            vals = Arrays.copyOf(vals, count*2); if(names!=null) names = Arrays.copyOf(names, count*2); }
+        
+        // Handle null: Add null point
+        if(aReader.readNullIf()) {
+            if(nulls==null) nulls = new BitSet(); nulls.set(count++); }
+        
+        // Handle Node is object
+        else if(aReader.peek()=='{') {
+            String name = null; double val = 0; boolean isNull = true;
+            
+            // Iterate over keys
+            if(aReader.readStart('{')) do { String key = aReader.readKey();
+                switch(key.toLowerCase()) {
+                    
+                    // Handle name
+                    case "name": name = readString(aReader); break;
+                    
+                    // Handle y
+                    case "y": if(aReader.readNullIf()) break;
+                        Number num = readNumber(aReader); val = num!=null? num.doubleValue() : 0; isNull = false; break;
+                    
+                    // Handle default (complain)
+                    default: System.out.println("Unsupported node: series[]." + key + " = " + aReader.readValueText());
+                }
+            } while(aReader.readNext('}'));
+            
+            // Add name and value (value is null if no y)
+            if(name!=null && names==null) names = new String[vals.length];
+            if(names!=null) names[count] = name;
+            if(isNull) { if(nulls==null) nulls = new BitSet(); nulls.set(count); }
+            vals[count++] = val;
+        }
+        
+        // Handle Node is number (or anything else that tree parser would coerce to number - otherwise skip)
+        else {
+            Number num = readNumber(aReader);
+            if(num!=null)
+                vals[count++] = num.doubleValue();
+        }
+        
+    } while(aReader.readNext(']'));
+    
+    // Add points
+    aSeries.addPoints(vals, names, nulls, count);
+}
+
+/**
+ * Reads a number value with JSONReader: Numbers are read directly, anything else is read as node and coerced like
+ * tree parser does (null if not number).
+ */
+Number readNumber(JSONReader aReader)
+{
+    if(aReader.readNullIf()) return null;
+    char c = aReader.peek();
+    if(c=='-' || c>='0' && c<='9') return aReader.readNumber();
+    return readNode(aReader).getNumber();
+}
+
+/**
+ * Reads a string value with JSONReader: Strings are read directly, anything else is read as node and coerced like
+ * tree parser does.
+ */
+String readString(JSONReader aReader)
+{
+    if(aReader.readNullIf()) return null;
+    if(aReader.peek()=='"') return aReader.readString();
+    return readNode(aReader).getString();
+}
+
+/**
+ * Reads next value with JSONReader as JSON node.
+ */
+JSONNode readNode(JSONReader aReader)  { return new JSONParser().readString(aReader.readValueText()); }
+    
 /**
  * Parse chart colors.
  */
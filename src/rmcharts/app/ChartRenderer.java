@@ -0,0 +1,77 @@
+package rmcharts.app;
+import java.io.Writer;
+import snap.gfx.*;
+
+/**
+ * A class to render charts from JSON without a window, animation or tooltip (for server-side image generation).
+ * 
+ * Each chart is loaded into a new ChartView (so no settings carry over from previous charts), laid out at the given
+ * size and painted with the same ChartArea/ChartXAxis/ChartYAxis paint methods used on screen. Renderers aren't
+ * thread-safe: Use one renderer per thread.
+ */
+public class ChartRenderer {
+    
+    // The ChartView for last loaded chart
+    ChartView          _chartView;
+
+/**
+ * Returns the ChartView for last loaded chart.
+ */
+public ChartView getChartView()  { return _chartView; }
+
+/**
+ * Loads the chart from given JSON string and lays it out for given size.
+ */
+public ChartView loadChart(String aStr, double aW, double aH)
+{
+    _chartView = createChartView();
+    _chartView.loadFromString(aStr);
+    _chartView.setSize(aW, aH);
+    _chartView.layoutDeep();
+    return _chartView;
+}
+
+/**
+ * Creates a new ChartView for static rendering.
+ */
+protected ChartView createChartView()
+{
+    ChartView chartView = new ChartView();
+    chartView.setAnimate(false);
+    return chartView;
+}
+
+/**
+ * Paints the loaded chart to given painter.
+ */
+public void paintChart(Painter aPntr)  { _chartView.paintAll(aPntr); }
+
+/**
+ * Renders the chart for given JSON string and size to a new image.
+ */
+public Image renderImage(String aStr, int aW, int aH)
+{
+    loadChart(aStr, aW, aH);
+    Image img = Image.get(aW, aH, false);
+    Painter pntr = img.getPainter();
+    paintChart(pntr);
+    return img;
+}
+
+/**
+ * Renders the chart for given JSON string and size to PNG bytes.
+ */
+public byte[] renderPNG(String aStr, int aW, int aH)  { return renderImage(aStr, aW, aH).getBytesPNG(); }
+
+/**
+ * Renders the chart for given JSON string and size as SVG to given writer.
+ */
+public void renderSVG(String aStr, int aW, int aH, Writer aWriter)
+{
+    loadChart(aStr, aW, aH);
+    SVGPainter pntr = new SVGPainter(aWriter, aW, aH);
+    paintChart(pntr);
+    pntr.finish();
+}
+
+}
@@ -50,7 +50,7 @@ public class ChartView extends ColView {
     boolean            _showPartialY;
     
     // The graph colors
-    Color              _colors[] = COLORS;
+    Color              _colors[] = COLORS.clone();
     
     // The series shapes
     Shape              _markerShapes[];
@@ -58,6 +58,16 @@ public class ChartView extends ColView {
     // The selected and targeted (under mouse) data point
     DataPoint          _selPoint, _targPoint;
     
+    // Whether to animate chart area when contents are reloaded
+    boolean            _animate = true;
+    
+    // The value formatter (per chart, since DecimalFormat isn't thread-safe)
+    DecimalFormat      _fmt = new DecimalFormat("#,###.##");
+    
+    // The pixels repainted for last hover (targeted data point) change, and the total pixels and count of changes
+    double             _hoverPixels, _hoverPixelsTotal;
+    int                _hoverCount;
+    
     // Constants
     public static final String BAR_TYPE = "Bar";
     public static final String LINE_TYPE = "Line";
@@ -66,13 +76,10 @@ public class ChartView extends ColView {
     public static final String TargDataPoint_Prop = "TargDataPoint";
     
     // Colors
-    static Color    COLORS[] = new Color[] { Color.get("#88B4E7"), Color.get("#434348"), Color.get("#A6EB8A"),
+    static final Color COLORS[] = new Color[] { Color.get("#88B4E7"), Color.get("#434348"), Color.get("#A6EB8A"),
         Color.get("#EBA769"), Color.get("#8185E2"), Color.get("#E06681"), Color.get("#E1D369"),
         Color.get("#4A8E8E"), Color.get("#E26561") };
     
-    // Shared
-    static DecimalFormat _fmt = new DecimalFormat("#,###.##");
-    
 /**
  * Creates a ChartView.
  */
@@ -305,6 +312,20 @@ public Shape[] getMarkerShapes()
     return _markerShapes = new Shape[] { shp0, shp1, shp2, shp3, shp4 };
 }
 
+/**
+ * Returns whether to animate chart area when contents are reloaded.
+ */
+public boolean isAnimate()  { return _animate; }
+
+/**
+ * Sets whether to animate chart area when contents are reloaded (false for static rendering).
+ */
+public void setAnimate(boolean aValue)
+{
+    _animate = aValue;
+    if(!aValue) { _chartArea.getAnimCleared(0); _chartArea.setReveal(1); }
+}
+
 /**
  * Returns the selected data point.
  */
@@ -316,8 +337,9 @@ public DataPoint getSelDataPoint()  { return _selPoint; }
 public void setSelDataPoint(DataPoint aDP)
 {
     if(SnapUtils.equals(aDP, _selPoint)) return;
+    DataPoint old = _selPoint;
     firePropChange(SelDataPoint_Prop, _selPoint, _selPoint = aDP);
-    repaint();
+    _chartArea.repaintDataPointChange(old, aDP);
 }
 
 /**
@@ -331,10 +353,31 @@ public DataPoint getTargDataPoint()  { return _targPoint; }
 public void setTargDataPoint(DataPoint aDP)
 {
     if(SnapUtils.equals(aDP, _targPoint)) return;
+    DataPoint old = _targPoint;
     firePropChange(TargDataPoint_Prop, _targPoint, _targPoint = aDP);
+    
+    // Repaint just old/new highlight in chart area and update metrics (tool tip repaints its own bounds)
+    double pixels = _chartArea.repaintDataPointChange(old, aDP);
+    if(_toolTipView.getParent()!=null) pixels += _toolTipView.getWidth()*_toolTipView.getHeight();
+    _hoverPixels = pixels; _hoverPixelsTotal += pixels; _hoverCount++;
     _toolTipView.reloadContents();
 }
 
+/**
+ * Returns the number of pixels repainted for last targeted data point change (chart area highlight plus tool tip).
+ */
+public double getHoverRepaintPixels()  { return _hoverPixels; }
+
+/**
+ * Returns the average number of pixels repainted per targeted data point change.
+ */
+public double getHoverRepaintPixelsAverage()  { return _hoverCount>0? _hoverPixelsTotal/_hoverCount : 0; }
+
+/**
+ * Returns the number of targeted data point changes.
+ */
+public int getHoverCount()  { return _hoverCount; }
+
 /**
  * Reloads chart view contents.
  */
@@ -342,7 +385,7 @@ public void reloadContents(boolean doAnim)
 {
     _legend.reloadContents();
     _chartArea.reactivate();
-    if(doAnim) _chartArea.animate();
+    if(doAnim && _animate) _chartArea.animate();
     _yaxis.repaint();
     _xaxis.repaint();
 }
@@ -362,11 +405,18 @@ public void loadFromSource(Object aSrc)
  */
 public void loadFromString(String aStr)
 {
-    _dataSet.clear();
-    ChartParser parser = new ChartParser(this);
-    parser.parseString(aStr);
-    if(_dataSet.isEmpty()) _dataSet.addSeriesForNameAndValues("Sample", 1d, 2d, 3d, 3d, 4d, 5d);
-    reloadContents(true);
+    // Clear and parse as batch update (end update reloads contents once, even if parse fails)
+    _dataSet.beginUpdate();
+    try {
+        _dataSet.clear();
+        ChartParser parser = new ChartParser(this);
+        parser.parseString(aStr);
+        if(_dataSet.isEmpty()) _dataSet.addSeriesForNameAndValues("Sample", 1d, 2d, 3d, 3d, 4d, 5d);
+    }
+    finally { _dataSet.endUpdate(); }
+    
+    // Animate new contents
+    if(_animate) _chartArea.animate();
 }
 
 /**
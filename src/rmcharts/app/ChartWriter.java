@@ -21,9 +21,19 @@ public ChartWriter(ChartView aGV)  { _chartView = aGV; }
  * Returns a String for chart.
  */
 public String getString()
+{
+    StringBuilder sb = new StringBuilder();
+    write(sb);
+    return sb.toString();
+}
+
+/**
+ * Writes chart to given Appendable (streamed by MapWriter in chunks, without building one large string).
+ */
+public void write(Appendable anOut)
 {
     Map map = writeAll();
-    return new MapWriter().getString(map);
+    new MapWriter().write(map, anOut);
 }
 
 /**
@@ -453,41 +463,25 @@ protected void writeSeries(Map aMap)
 }
 
 /**
- * Write series data node.
+ * Write series data node: Values array if no point names (nulls as NaN), otherwise list of name/y maps.
  */
 protected void writeSeriesData(Map aMap, DataSeries aSeries)
 {
-    // Create list
-    List list = new ArrayList();
-    boolean rich = false;
+    // If no points, just return
+    int count = aSeries.getPointCount(); if(count==0) return;
     
-    // Iterate over points
-    for(DataPoint dpnt : aSeries.getPoints()) {
-    
-        // Create map
-        Map map = new HashMap();
-
-        // Handle name
-        String name = dpnt.getName();
-        if(name!=null) { map.put("name", name); rich = true; }
-                    
-        // Handle y
-        Double y = dpnt.getValue();
-        if(y!=null) map.put("y", y);
-
-        // Add map
-        if(!map.isEmpty()) list.add(map);
+    // If no point names, add values array (copied only if nulls need to be set to NaN) and return
+    if(!aSeries.hasPointNames()) {
+        double vals[] = aSeries.getValues();
+        if(vals.length!=count || aSeries.getValueCount()<count) {
+            vals = Arrays.copyOf(vals, count);
+            for(int i=0;i<count;i++) if(!aSeries.isValueSet(i)) vals[i] = Double.NaN;
+        }
+        aMap.put("data", vals); return;
     }
     
-    // If not rich, just get values
-    if(!rich) {
-        List list2 = new ArrayList();
-        for(Map m : (List <Map>)list) list2.add(m.get("y"));
-        list = list2;
-    }
-
-    // Add list
-    if(!list.isEmpty()) aMap.put("data", list);
+    // Add list view of point maps (so points are written straight from series)
+    aMap.put("data", new PointMapList(aSeries));
 }
     
 /**
@@ -504,4 +498,31 @@ protected void writeColors(Map aMap)
     if(!list.isEmpty()) aMap.put("colors", list);
 }
 
+/**
+ * A list view of series points as name/y maps, for writing. Each get() refills and returns the same map (or null if
+ * point has no name or value, so following points keep their index), so writing a large series doesn't create a map
+ * per point. The returned map is only valid until the next get().
+ */
+static class PointMapList extends AbstractList <Map> {
+
+    // The series and the reused point map
+    DataSeries    _series;
+    Map           _map = new HashMap();
+
+    /** Creates a PointMapList for given series. */
+    PointMapList(DataSeries aSeries)  { _series = aSeries; }
+
+    /** Returns the number of points. */
+    public int size()  { return _series.getPointCount(); }
+
+    /** Returns the map for point at given index (reused). */
+    public Map get(int anIndex)
+    {
+        _map.clear();
+        String name = _series.getPointName(anIndex); if(name!=null) _map.put("name", name);
+        if(_series.isValueSet(anIndex)) _map.put("y", _series.getValueX(anIndex));
+        return !_map.isEmpty()? _map : null;
+    }
+}
+
 }
\ No newline at end of file
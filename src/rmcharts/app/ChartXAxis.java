@@ -19,10 +19,17 @@ public class ChartXAxis extends View {
     
     // The length of the vertical tick lines drawn from the X axis down twards it's labels and title
     double            _tickLength = 10;
+    
+    // The cached label stride (draw every nth label/tick so labels don't overlap) and the key it was computed for
+    int               _labelStride;
+    double            _strideSectionW;
+    int               _strideCount;
+    Font              _strideFont;
 
     // Constants
-    static Color           AXIS_LINES_COLOR = Color.LIGHTGRAY;
-    static Color           AXIS_LABELS_COLOR = Color.GRAY;
+    static final double    LABEL_GAP = 8;
+    static final Color     AXIS_LINES_COLOR = Color.LIGHTGRAY;
+    static final Color     AXIS_LABELS_COLOR = Color.GRAY;
 
 /**
  * Creates the ChartXAxis.
@@ -42,7 +49,7 @@ public List <String> getCategories()  { return _categories; }
  */
 public void setCategories(List <String> theStrings)
 {
-    _categories = theStrings;
+    _categories = theStrings; _labelStride = 0;
 }
 
 /**
@@ -80,16 +87,52 @@ public void setTickLength(double aValue)  { _tickLength = aValue; }
  */
 public String getLabel(int anIndex)
 {
+    // Get logical index of point (point index can be offset if series is sliding window)
+    DataSet dset = _chartArea.getDataSet();
+    int index = dset.getPointStart() + anIndex;
+    
     // If categories exist, return the category string at index
-    if(_categories!=null && anIndex<_categories.size())
-        return _categories.get(anIndex);
+    if(_categories!=null && index<_categories.size())
+        return _categories.get(index);
         
     // Otherwise, return string for start value and index
-    DataSet dset = _chartArea.getDataSet();
-    int val = dset.getSeriesStart() + anIndex;
+    int val = dset.getSeriesStart() + index;
     return String.valueOf(val);
 }
 
+/**
+ * Returns the number of points between drawn labels (and ticks) for given section width, so that labels don't
+ * overlap: 1 if all labels fit, otherwise enough to fit widest label plus gap. Cached until section width, point
+ * count, font or categories change (but not point start, so a scrolling series doesn't re-measure every update), so
+ * paint cost depends on axis width instead of point count.
+ */
+public int getLabelStride(double aSectionW)
+{
+    // If cached stride valid, just return
+    Font font = getFont(); int count = _chartArea.getPointCount();
+    if(_labelStride>0 && aSectionW==_strideSectionW && count==_strideCount && font==_strideFont) return _labelStride;
+    
+    // Get widest label
+    double maxW = 0;
+    for(int i=0;i<count;i++) maxW = Math.max(maxW, TextMetrics.getStringWidth(font, getLabel(i)));
+    
+    // Get stride for widest label plus gap
+    int stride = aSectionW>0? (int)Math.ceil((maxW + LABEL_GAP)/aSectionW) : count;
+    _labelStride = Math.max(stride, 1);
+    _strideSectionW = aSectionW; _strideCount = count; _strideFont = font;
+    return _labelStride;
+}
+
+/**
+ * Returns the index of the first drawn label for given stride. Labels are drawn where the logical index (point start
+ * plus index) is a multiple of stride, so they scroll with the data when series is a sliding window.
+ */
+public int getLabelStrideFirst(int aStride)
+{
+    int start = _chartArea.getDataSet().getPointStart();
+    return (aStride - start%aStride)%aStride;
+}
+
 /**
  * Paints chart x axis.
  */
@@ -112,25 +155,25 @@ protected void paintAxis(Painter aPntr, double aX, double aW, double aH)
     double labelsYOff = getLabelsY(), fontHeight = Math.ceil(font.getAscent());
     double labelY = labelsYOff + fontHeight;
     
-    // Get number of data points
+    // Get number of data points and label stride (every nth point gets tick and label)
     int pointCount = _chartArea.getPointCount();
     double sectionW = aW/(pointCount-1);
     double tickLen = getTickLength();
+    int stride = pointCount>1? getLabelStride(sectionW) : 1, first = getLabelStrideFirst(stride);
     
     // Draw axis ticks
     aPntr.setColor(AXIS_LINES_COLOR); aPntr.setStroke(Stroke.Stroke1);
-    for(int i=0;i<pointCount;i++) {
+    for(int i=first;i<pointCount;i+=stride) {
         double tickX = Math.round(aX + i*sectionW);
         aPntr.drawLine(tickX, 0, tickX, tickLen);
     }
         
     // Draw axis labels
     aPntr.setColor(AXIS_LABELS_COLOR);
-    for(int i=0;i<pointCount;i++) {
+    for(int i=first;i<pointCount;i+=stride) {
         String str = getLabel(i);
-        Rect strBnds = aPntr.getStringBounds(str);
         double lx = aX + sectionW*i;
-        double x = lx - Math.round(strBnds.getMidX());
+        double x = lx - Math.round(TextMetrics.getStringMidX(font, str));
         aPntr.drawString(str, x, labelY);
     }
 }
@@ -145,26 +188,27 @@ protected void paintAxisBar(Painter aPntr, double aX, double aW, double aH)
     double labelsYOff = getLabelsY(), fontHeight = Math.ceil(font.getAscent());
     double labelY = labelsYOff + fontHeight;
     
-    // Get number of data points
+    // Get number of data points and label stride (every nth section gets label and ticks on either side)
     int pointCount = _chartArea.getPointCount();
     double sectionW = aW/pointCount;
     double tickLen = getTickLength();
+    int stride = getLabelStride(sectionW), first = getLabelStrideFirst(stride);
     
-    // Draw axis ticks
+    // Draw axis ticks (left edges of labeled sections, with first and last edge always drawn)
     aPntr.setColor(AXIS_LINES_COLOR); aPntr.setStroke(Stroke.Stroke1);
-    for(int i=0;i<pointCount+1;i++) {
+    for(int i=0;;i=Math.min(i<first? first : i+stride, pointCount)) {
         double tickX = Math.round(aX + i*sectionW);
         if(tickX<=0) tickX += .5; else if(tickX>=aW) tickX -= .5;
         aPntr.drawLine(tickX, 0, tickX, tickLen);
+        if(i>=pointCount) break;
     }
         
     // Draw axis labels
     aPntr.setColor(AXIS_LABELS_COLOR);
-    for(int i=0;i<pointCount;i++) {
+    for(int i=first;i<pointCount;i+=stride) {
         String str = getLabel(i);
-        Rect strBnds = aPntr.getStringBounds(str);
         double lx = aX + sectionW*i + sectionW/2;
-        double x = lx - strBnds.getMidX(); x = Math.round(x);
+        double x = lx - TextMetrics.getStringMidX(font, str); x = Math.round(x);
         aPntr.drawString(str, x, labelY);
     }
 }
@@ -34,9 +34,18 @@ public class ChartYAxis extends ParentView {
     // The grid line
     double         _gridLineDashArray[];
     
+    // The labels font
+    Font           _labelsFont = Font.Arial12;
+    
+    // The cached labels and max label width (and the intervals and font they were created for)
+    String         _labels[];
+    double         _labelsMaxWidth;
+    Intervals      _labelsIntervals;
+    Font           _labelsFontCached;
+    
     // Constants
-    static Color   AXIS_LABELS_COLOR = Color.GRAY;
-    static Color   GRID_LINES_COLOR = Color.get("#E6");
+    static final Color AXIS_LABELS_COLOR = Color.GRAY;
+    static final Color GRID_LINES_COLOR = Color.get("#E6");
 
 /**
  * Creates the ChartYAxis.
@@ -129,6 +138,16 @@ public double getLabelsOffset()  { return getMaxLabelWidth() + getLabelsMargin()
  */
 public double getLabelsMargin()  { return _labelsMargin; }
 
+/**
+ * Returns the labels font.
+ */
+public Font getLabelsFont()  { return _labelsFont; }
+
+/**
+ * Sets the labels font.
+ */
+public void setLabelsFont(Font aFont)  { _labelsFont = aFont; relayoutParent(); repaint(); }
+
 /**
  * Returns the grid line color.
  */
@@ -165,13 +184,12 @@ protected void paintFront(Painter aPntr)
 protected void paintAxis(Painter aPntr, double aX, double aY, double aW, double aH)
 {
     // Set font, color
-    aPntr.setFont(Font.Arial12); aPntr.setColor(AXIS_LABELS_COLOR);
-    double fontDesc = Font.Arial12.getDescent();
+    Font font = getLabelsFont(); aPntr.setFont(font); aPntr.setColor(AXIS_LABELS_COLOR);
+    double fontDesc = font.getDescent();
     
-    // Get intervals
-    Intervals intervals = _chartArea.getActiveIntervals();
-    int lineCount = intervals.getCount(), sectionCount = lineCount - 1;
-    double intervalDelta = intervals.getDelta(), intervalMax = intervals.getMax();
+    // Get labels (cached for intervals)
+    String labels[] = getLabels();
+    int lineCount = labels.length, sectionCount = lineCount - 1;
     double marginx = getLabelsMargin();
     
     // Draw axis
@@ -181,10 +199,8 @@ protected void paintAxis(Painter aPntr, double aX, double aY, double aW, double
         double ly = aY + aH/sectionCount*i;
         
         // Draw labels
-        double lineVal = (intervalMax-i*intervalDelta);
-        String str =  getLabel(lineVal, intervalDelta);
-        Rect strBnds = aPntr.getStringBounds(str);
-        double x = aX + aW - strBnds.width - marginx;
+        String str = labels[i];
+        double x = aX + aW - TextMetrics.getStringWidth(font, str) - marginx;
         double y = ly + fontDesc; y = Math.round(y);
         aPntr.drawString(str, x, y);
     }
@@ -242,25 +258,42 @@ protected String getLabel(double aLineVal, double aDelta)
 }
 
 /**
- * Returns the max label width.
+ * Returns the labels for active intervals (top to bottom). Labels and max label width are cached for intervals and
+ * font, since they are used many times in each layout and paint. Package-private, since the returned array is the
+ * cached array (callers must not modify it).
  */
-protected double getMaxLabelWidth()
+String[] getLabels()
 {
-    // Get intervals
-    Intervals intervals = _chartArea.getActiveIntervals();
-    int lineCount = intervals.getCount(), sectionCount = lineCount - 1;
+    // If cached labels valid for intervals and font, just return
+    Intervals intervals = _chartArea.getActiveIntervals(); Font font = getLabelsFont();
+    if(_labels!=null && intervals==_labelsIntervals && font==_labelsFontCached) return _labels;
+    
+    // Get intervals info
+    int lineCount = intervals.getCount();
     double intervalDelta = intervals.getDelta(), intervalMax = intervals.getMax();
     
-    // Get longest text
-    String maxText = "";
+    // Get labels and longest text
+    String labels[] = new String[lineCount], maxText = "";
     for(int i=0;i<lineCount;i++) {
         double lineVal = (intervalMax-i*intervalDelta);
-        String str =  getLabel(lineVal, intervalDelta);
+        String str = labels[i] = getLabel(lineVal, intervalDelta);
         if(str.length()>maxText.length())
             maxText = str;
     }
     
-    return Font.Arial12.getStringAdvance(maxText);
+    // Cache labels, max width, intervals and font and return
+    _labelsMaxWidth = TextMetrics.getStringAdvance(font, maxText);
+    _labelsIntervals = intervals; _labelsFontCached = font;
+    return _labels = labels;
+}
+
+/**
+ * Returns the max label width.
+ */
+protected double getMaxLabelWidth()
+{
+    getLabels();
+    return _labelsMaxWidth;
 }
 
 /**
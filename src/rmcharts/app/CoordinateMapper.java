@@ -0,0 +1,95 @@
+package rmcharts.app;
+
+/**
+ * A class to map series coords (point index and value) to chart area local coords. A mapper is a snapshot of the
+ * chart area layout (size, insets, point count and intervals), so each coord maps with a single multiply-add.
+ */
+public class CoordinateMapper {
+
+    // The x scale and offset (local x = index*scale + offset)
+    double       _xScale, _xOffset;
+
+    // The y scale and offset (local y = value*scale + offset)
+    double       _yScale, _yOffset;
+
+/**
+ * Creates a CoordinateMapper for given bounds (in local coords), point count and intervals.
+ */
+public CoordinateMapper(double aX, double aY, double aW, double aH, int aPointCount, Intervals theIntervals)
+{
+    // Get x scale/offset (points are spread across width)
+    _xScale = aW/(aPointCount-1); _xOffset = aX;
+
+    // Get y scale/offset (axis min value is at bottom, axis max value at top)
+    double axisMinVal = theIntervals.getMin(), axisMaxVal = theIntervals.getMax();
+    _yScale = -aH/(axisMaxVal-axisMinVal); _yOffset = aY + aH - axisMinVal*_yScale;
+}
+
+/**
+ * Returns the x scale.
+ */
+public double getScaleX()  { return _xScale; }
+
+/**
+ * Returns the x offset.
+ */
+public double getOffsetX()  { return _xOffset; }
+
+/**
+ * Returns the y scale.
+ */
+public double getScaleY()  { return _yScale; }
+
+/**
+ * Returns the y offset.
+ */
+public double getOffsetY()  { return _yOffset; }
+
+/**
+ * Returns the local x for given series x (point index).
+ */
+public double mapX(double aX)  { return aX*_xScale + _xOffset; }
+
+/**
+ * Returns the local y for given series y (value).
+ */
+public double mapY(double aY)  { return aY*_yScale + _yOffset; }
+
+/**
+ * Maps given series x values to local x values.
+ */
+public void mapX(double theIn[], double theOut[])  { mapX(theIn, theOut, theOut.length); }
+
+/**
+ * Maps given number of series x values to local x values.
+ */
+public void mapX(double theIn[], double theOut[], int aCount)
+{
+    double scale = _xScale, offset = _xOffset;
+    for(int i=0;i<aCount;i++) theOut[i] = theIn[i]*scale + offset;
+}
+
+/**
+ * Maps series point indexes (0, 1, 2...) to local x values.
+ */
+public void mapIndexes(double theOut[], int aCount)
+{
+    double scale = _xScale, offset = _xOffset;
+    for(int i=0;i<aCount;i++) theOut[i] = i*scale + offset;
+}
+
+/**
+ * Maps given series y values to local y values.
+ */
+public void mapY(double theIn[], double theOut[])  { mapY(theIn, theOut, theOut.length); }
+
+/**
+ * Maps given number of series y values to local y values.
+ */
+public void mapY(double theIn[], double theOut[], int aCount)
+{
+    double scale = _yScale, offset = _yOffset;
+    for(int i=0;i<aCount;i++) theOut[i] = theIn[i]*scale + offset;
+}
+
+}
@@ -144,30 +144,35 @@ void configureColumn(TableCol aCol)
  */
 void cellEditEnd(ListCell aCell)
 {
-    // Get row/col and make sure there are series/points to cover it
-    String text = aCell.getText();
-    int row = aCell.getRow(), col = aCell.getCol();
-    expandDataSet(row, col);
-    
-    // Get series
+    // Start batch update so chart is reloaded once for expand, edit and trim
     DataSet dset = getDataSet();
-    DataSeries series = dset.getSeries(row);
-    
-    // If header column, set series name and return
-    if(col==0)
-        series.setName(text);
-    
-    // Get data point for series col and set value
-    else {
-        Double newVal = text!=null && text.length()>0? SnapUtils.doubleValue(text) : null;
-        DataPoint dpoint = series.getPoint(col-1);
-        dpoint.setValue(newVal);
-        _sheetView.updateItems(series);
+    dset.beginUpdate();
+    try {
+        // Get row/col and make sure there are series/points to cover it
+        String text = aCell.getText();
+        int row = aCell.getRow(), col = aCell.getCol();
+        expandDataSet(row, col);
+        
+        // Get series
+        DataSeries series = dset.getSeries(row);
+        
+        // If header column, set series name and return
+        if(col==0)
+            series.setName(text);
+        
+        // Get data point for series col and set value
+        else {
+            Double newVal = text!=null && text.length()>0? SnapUtils.doubleValue(text) : null;
+            DataPoint dpoint = series.getPoint(col-1);
+            dpoint.setValue(newVal);
+            _sheetView.updateItems(series);
+        }
+        
+        // Update row and trim DataSet in case series/points were cleared
+        _sheetView.updateItems(aCell.getItem());
+        trimDataSet();
     }
-    
-    // Update row and trim DataSet in case series/points were cleared
-    _sheetView.updateItems(aCell.getItem());
-    trimDataSet();
+    finally { dset.endUpdate(); }
     resetLater();
 }
 
@@ -4,25 +4,22 @@ import snap.gfx.Point;
 import snap.util.SnapUtils;
 
 /**
- * A class to represent a data point.
+ * A class to represent a data point. Data points are lightweight views of a series value at an index (the values are
+ * stored in DataSeries) and are created on demand.
  */
 public class DataPoint {
     
     // The series this point belongs to
     DataSeries   _series;
     
-    // The data point name
-    String       _name;
-    
-    // The data point x value (usually the index)
-    Double       _x;
-    
-    // The data point y value
-    Double       _y;
-    
     // The index
     int          _index;
     
+/**
+ * Creates a DataPoint for given series and index.
+ */
+protected DataPoint(DataSeries aSeries, int anIndex)  { _series = aSeries; _index = anIndex; }
+
 /**
  * Returns the series.
  */
@@ -31,31 +28,25 @@ public DataSeries getSeries()  { return _series; }
 /**
  * Returns the name.
  */
-public String getName()  { return _name; }
+public String getName()  { return _series.getPointName(_index); }
 
 /**
  * Returns the X value.
  */
-public double getX()
-{
-    if(_x!=null) return _x;
-    _x = (double)(_series._dset.getSeriesStart() + _index);
-    return _x;
-}
+public double getX()  { return _series._dset.getSeriesStart() + _series.getStartIndex() + _index; }
 
 /**
  * Returns the Y value.
  */
-public double getY()  { return _y!=null? _y : 0; }
+public double getY()  { return _series.getValueX(_index); }
 
 /**
  * Sets the Y value.
  */
 public void setY(Double aValue)
 {
-    if(aValue==_y) return;
-    _y = aValue;
-    clearCache();
+    if(SnapUtils.equals(aValue, getValue())) return;
+    _series.setValue(aValue, _index);
 }
 
 /**
@@ -84,12 +75,14 @@ public int getSeriesActiveIndex()  { return _series.getActiveIndex(); }
 public Object getKey()
 {
     // If name, just return it
-    if(_name!=null) return _name;
+    String name = getName();
+    if(name!=null) return name;
     
     // If categories, return that
     List <String> cats = _series._dset._chartView.getXAxis().getCategories();
-    if(cats!=null && getIndex()<cats.size())
-        return cats.get(getIndex());
+    int index = _series.getStartIndex() + getIndex();
+    if(cats!=null && index<cats.size())
+        return cats.get(index);
     
     // Otherwise return x val (as int, if whole number)
     double kval = getX();
@@ -108,12 +101,12 @@ public String getKeyString()
 /**
  * Returns whether value is set.
  */
-public boolean isValueSet()  { return _y!=null; }
+public boolean isValueSet()  { return _series.isValueSet(_index); }
 
 /**
  * Return series value.
  */
-public Double getValue()  { return _y; }
+public Double getValue()  { return _series.getValue(_index); }
 
 /**
  * Sets series value.
@@ -123,7 +116,7 @@ public void setValue(Double aValue)  { setY(aValue); }
 /**
  * Return series value or zero (if null).
  */
-public double getValueX()  { return _y!=null? _y : 0; }
+public double getValueX()  { return _series.getValueX(_index); }
 
 /**
  * Returns the DataPoint in chart area coords.
@@ -146,14 +139,6 @@ public Point getPointInChartView()
     return carea.localToParent(pnt.x, pnt.y, cview);
 }
 
-/**
- * Clears cached values.
- */
-protected void clearCache()
-{
-    if(_series!=null) _series.clearCache();
-}
-
 /**
  * Standard equals implementation.
  */
@@ -163,4 +148,50 @@ public boolean equals(Object anObj)
     return other._series==_series && other._index==_index;
 }
 
+/**
+ * Standard hashCode implementation.
+ */
+public int hashCode()  { return System.identityHashCode(_series)*31 + _index; }
+
+/**
+ * A DataPoint that holds its own name and value, returned for a point removed from series (since a regular data point
+ * is a view of series at index).
+ */
+static class Removed extends DataPoint {
+
+    // The name and value
+    String    _name;
+    Double    _value;
+
+    /** Creates a Removed point for given series, index, name and value. */
+    Removed(DataSeries aSeries, int anIndex, String aName, Double aValue)
+    {
+        super(aSeries, anIndex); _name = aName; _value = aValue;
+    }
+
+    /** Override to return held name. */
+    public String getName()  { return _name; }
+
+    /** Override to return held value. */
+    public double getY()  { return _value!=null? _value : 0; }
+
+    /** Override to set held value. */
+    public void setY(Double aValue)  { _value = aValue; }
+
+    /** Override to return whether held value is set. */
+    public boolean isValueSet()  { return _value!=null; }
+
+    /** Override to return held value. */
+    public Double getValue()  { return _value; }
+
+    /** Override to return held value. */
+    public double getValueX()  { return getY(); }
+
+    /** Override to use identity (removed point isn't the point now at index). */
+    public boolean equals(Object anObj)  { return anObj==this; }
+
+    /** Override to use identity. */
+    public int hashCode()  { return System.identityHashCode(this); }
+}
+
 }
\ No newline at end of file
@@ -12,8 +12,28 @@ public class DataSeries {
     // The name
     String            _name;
     
-    // The values
-    List <DataPoint>  _points = new ArrayList();
+    // The point values (zero for points with no value)
+    double            _values[] = new double[8];
+    
+    // The number of points
+    int               _count;
+    
+    // The cached copy of values trimmed to point count (cleared when values change)
+    double            _valuesCopy[];
+    
+    // The bitmask of points with no value (null) and the number of points with value
+    BitSet            _nulls = new BitSet();
+    int               _valueCount;
+    
+    // The incrementally maintained min, max and total of values
+    SeriesStats       _stats;
+    
+    // The point names as indexes into names dictionary (null if no point has name)
+    int               _nameIds[];
+    
+    // The names dictionary (first entry is null name) and map of name to id
+    List <String>     _names;
+    Map <String,Integer> _nameIdsMap;
     
     // The index in data set
     int               _index;
@@ -21,8 +41,11 @@ public class DataSeries {
     // Whether series is disabled
     boolean           _disabled;
     
-    // Cached array of values, ratios, total
-    double            _vals[], _ratios[], _total;
+    // Cached array of ratios
+    double            _ratios[];
+    
+    // The points list (flyweight view of series)
+    List <DataPoint>  _points;
 
 /**
  * Returns the dataset.
@@ -46,7 +69,7 @@ public void setName(String aValue)
 /**
  * Returns the number of points.
  */
-public int getPointCount()  { return _points.size(); }
+public int getPointCount()  { return _count; }
 
 /**
  * Sets the number of points.
@@ -66,34 +89,51 @@ public void setPointCount(int aValue)
 }
 
 /**
- * Returns the data points list.
+ * Returns the logical index of the first point (non-zero for series that evict old points, like RingDataSeries).
  */
-public List <DataPoint> getPoints()  { return _points; }
+public int getStartIndex()  { return 0; }
 
 /**
- * Returns the data point at given index.
+ * Returns the data points list (data points are created on demand).
  */
-public DataPoint getPoint(int anIndex)
+public List <DataPoint> getPoints()
 {
-    return anIndex<getPointCount()? _points.get(anIndex) : null;
+    if(_points!=null) return _points;
+    return _points = new AbstractList <DataPoint>() {
+        public DataPoint get(int anIndex)  { return getPoint(anIndex); }
+        public int size()  { return getPointCount(); }
+    };
 }
 
 /**
- * Adds a point.
+ * Returns the data point at given index.
  */
-public void addPoint(DataPoint aPoint)
+public DataPoint getPoint(int anIndex)
 {
-    aPoint._series = this; aPoint._index = getPointCount();
-    _points.add(aPoint);
-    clearCache();
+    return anIndex<getPointCount()? new DataPoint(this, anIndex) : null;
 }
 
 /**
- * Removes a point at given index.
+ * Removes a point at given index and returns it (as a point that holds the removed name and value).
  */
 public DataPoint removePoint(int anIndex)
 {
-    DataPoint dpnt = _points.remove(anIndex);
+    // Get removed point
+    DataPoint dpnt = new DataPoint.Removed(this, anIndex, getPointName(anIndex), getValue(anIndex));
+    
+    // Update stats and value count
+    int count = _count - 1;
+    if(_stats!=null) { if(anIndex==count) _stats.removeLast(); else _stats.remove(anIndex); }
+    if(isValueSet(anIndex)) _valueCount--;
+    
+    // Shift values, nulls and name ids
+    System.arraycopy(_values, anIndex+1, _values, anIndex, count - anIndex);
+    for(int i=anIndex;i<count;i++) _nulls.set(i, _nulls.get(i+1));
+    _nulls.clear(count);
+    if(_nameIds!=null) System.arraycopy(_nameIds, anIndex+1, _nameIds, anIndex, count - anIndex);
+    
+    // Reset count, clear cache and return point
+    _count = count; _valuesCopy = null;
     clearCache();
     return dpnt;
 }
@@ -103,23 +143,100 @@ public DataPoint removePoint(int anIndex)
  */
 public void addPoint(String aName, Double aValue)
 {
-    DataPoint dpnt = new DataPoint(); dpnt._name = aName; dpnt._y = aValue; addPoint(dpnt);
+    addPointImpl(aName, aValue!=null? aValue : 0, aValue==null);
+    clearCache();
+}
+
+/**
+ * Adds points for given values, names and null value bits (names and nulls can be null).
+ */
+public void addPoints(double theVals[], String theNames[], BitSet theNulls, int aCount)
+{
+    ensureCapacity(_count + aCount);
+    for(int i=0;i<aCount;i++)
+        addPointImpl(theNames!=null? theNames[i] : null, theVals[i], theNulls!=null && theNulls.get(i));
+    clearCache();
+}
+
+/**
+ * Adds a point for name and value without clearing cache.
+ */
+void addPointImpl(String aName, double aValue, boolean isNull)
+{
+    int index = _count; ensureCapacity(index+1);
+    _values[index] = aValue; _valuesCopy = null;
+    if(isNull) _nulls.set(index); else _valueCount++;
+    setStatsValue(index, aValue);
+    if(aName!=null || _nameIds!=null) setPointNameImpl(index, aName);
+    _count++;
+}
+
+/**
+ * Makes sure value arrays have room for given count.
+ */
+void ensureCapacity(int aCount)
+{
+    if(aCount<=_values.length) return;
+    int len = Math.max(aCount, _values.length*2);
+    _values = Arrays.copyOf(_values, len);
+    if(_nameIds!=null) _nameIds = Arrays.copyOf(_nameIds, len);
+}
+
+/**
+ * Returns the name of point at given index.
+ */
+public String getPointName(int anIndex)
+{
+    return _nameIds!=null && anIndex<_count? _names.get(_nameIds[anIndex]) : null;
+}
+
+/**
+ * Sets the name of point at given index in names dictionary.
+ */
+void setPointNameImpl(int anIndex, String aName)
+{
+    // If names dictionary not yet created, create it (with null name as first entry)
+    if(_nameIds==null) {
+        _nameIds = new int[_values.length];
+        _names = new ArrayList(); _names.add(null);
+        _nameIdsMap = new HashMap();
+    }
+    
+    // Get id for name (adding to dictionary if needed) and set
+    Integer id = aName!=null? _nameIdsMap.get(aName) : Integer.valueOf(0);
+    if(id==null) { id = _names.size(); _names.add(aName); _nameIdsMap.put(aName, id); }
+    _nameIds[anIndex] = id;
+}
+
+/**
+ * Returns whether any point has a name.
+ */
+public boolean hasPointNames()
+{
+    if(_nameIds==null) return false;
+    for(int i=0;i<_count;i++) if(_nameIds[i]!=0) return true;
+    return false;
 }
 
+/**
+ * Returns whether value is set at given index.
+ */
+public boolean isValueSet(int anIndex)  { return anIndex<_count && !_nulls.get(anIndex); }
+
 /**
  * Returns the value at given index.
  */
 public Double getValue(int anIndex)
 {
-    DataPoint dp = getPoint(anIndex); return dp!=null? dp.getValue() : null;
+    return isValueSet(anIndex)? _values[anIndex] : null;
 }
 
 /**
- * Returns the value at given index.
+ * Returns the value at given index (or zero if not set).
  */
 public double getValueX(int anIndex)
 {
-    DataPoint dp = getPoint(anIndex); return dp!=null? dp.getValueX() : 0;
+    return anIndex<_count? _values[anIndex] : 0;
 }
 
 /**
@@ -128,8 +245,12 @@ public double getValueX(int anIndex)
 public void setValue(Double aValue, int anIndex)
 {
     while(anIndex>=getPointCount()) addPoint(null, null);
-    DataPoint dpnt = getPoint(anIndex);
-    dpnt.setValue(aValue);
+    if(isValueSet(anIndex)) _valueCount--;
+    if(aValue!=null) _valueCount++;
+    _values[anIndex] = aValue!=null? aValue : 0; _valuesCopy = null;
+    _nulls.set(anIndex, aValue==null);
+    setStatsValue(anIndex, _values[anIndex]);
+    clearValuesCache();
 }
 
 /**
@@ -137,28 +258,28 @@ public void setValue(Double aValue, int anIndex)
  */
 public void setValues(Double ... theVals)
 {
-    _points.clear();
-    for(Double v : theVals) addPoint(null, v);
+    _count = _valueCount = 0; _valuesCopy = null; _nulls.clear(); _nameIds = null; _names = null; _nameIdsMap = null; _stats = null;
+    for(Double v : theVals) addPointImpl(null, v!=null? v : 0, v==null);
+    clearCache();
 }
 
+/**
+ * Returns the number of points with value set.
+ */
+public int getValueCount()  { return _valueCount; }
+
 /**
  * Returns the total of all values.
  */
-public double getTotal()
-{
-    if(_vals==null) getValues();
-    return _total;
-}
+public double getTotal()  { return getStats().getTotal(); }
 
 /**
- * Returns an array of series values.
+ * Returns an array of series values, trimmed to point count (a copy cached until values change - do not modify).
  */
 public double[] getValues()
 {
-    if(_vals!=null) return _vals;
-    int count = getPointCount(); _total = 0;
-    double vals[] = new double[count]; for(int i=0;i<count;i++) { double v = getValueX(i); vals[i] = v; _total += v; }
-    return _vals = vals;
+    if(_valuesCopy==null) _valuesCopy = Arrays.copyOf(_values, _count);
+    return _valuesCopy;
 }
 
 /**
@@ -211,21 +332,38 @@ public boolean isEnabled()  { return !_disabled; }
 /**
  * Returns the minimum value in series.
  */
-public double getMinValue()
+public double getMinValue()  { return _count>0? getStats().getMin() : Float.MAX_VALUE; }
+
+/**
+ * Returns the maximum value in series.
+ */
+public double getMaxValue()  { return _count>0? getStats().getMax() : -Float.MAX_VALUE; }
+
+/**
+ * Returns the minimum value for given range of points (start inclusive, end exclusive) in O(log n).
+ */
+public double getMinValue(int aStart, int anEnd)  { return getStats().getMin(aStart, anEnd); }
+
+/**
+ * Returns the maximum value for given range of points (start inclusive, end exclusive) in O(log n).
+ */
+public double getMaxValue(int aStart, int anEnd)  { return getStats().getMax(aStart, anEnd); }
+
+/**
+ * Returns the stats that hold min, max and total of values (created lazily, then maintained incrementally).
+ */
+protected SeriesStats getStats()
 {
-    double minVal = Float.MAX_VALUE;
-    for(DataPoint dp : _points) if(dp.getValueX()<minVal) minVal = dp.getValueX();
-    return minVal;
+    if(_stats!=null) return _stats;
+    return _stats = new SeriesStats(_values, _count, _values.length);
 }
 
 /**
- * Returns the maximum value in series.
+ * Updates stats for value at given index (stats grow if index beyond stats capacity).
  */
-public double getMaxValue()
+void setStatsValue(int anIndex, double aValue)
 {
-    double maxVal = -Float.MAX_VALUE;
-    for(DataPoint dp : _points) if(dp.getValueX()>maxVal) maxVal = dp.getValueX();
-    return maxVal;
+    if(_stats!=null) _stats.set(anIndex, aValue);
 }
 
 /**
@@ -234,8 +372,7 @@ public double getMaxValue()
 public boolean isClear()
 {
     if(getName()!=null && getName().length()>0) return false;
-    for(DataPoint dp : getPoints()) if(dp.isValueSet()) return false;
-    return true;
+    return _nulls.nextClearBit(0)>=_count;
 }
 
 /**
@@ -243,8 +380,17 @@ public boolean isClear()
  */
 protected void clearCache()
 {
-    _vals = _ratios = null;
+    _ratios = null;
     if(_dset!=null) _dset.clearCache();
 }
 
+/**
+ * Clears cached values for a change that only effects values (not name or series structure).
+ */
+protected void clearValuesCache()
+{
+    _ratios = null;
+    if(_dset!=null) _dset.clearValuesCache();
+}
+
 }
\ No newline at end of file
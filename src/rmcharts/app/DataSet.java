@@ -25,6 +25,10 @@ public class DataSet {
     // The cached min/max values
     double             _minVal = Float.MAX_VALUE, _maxVal = -Float.MAX_VALUE;
     
+    // The batch update nesting level and whether changes were made during batch update
+    int                _updateLevel;
+    boolean            _updateChanged;
+    
 /**
  * Creates a DataSet for given ChartView.
  */
@@ -54,14 +58,18 @@ public void setSeriesCount(int aValue)
     if(aValue<1 || aValue>20) return;
     
     // If value larger than cound, create empty series
-    while(aValue>getSeriesCount()) {
-        DataSeries series = addSeriesForNameAndValues((String)null, (Double)null);
-        series.setPointCount(getPointCount());
-    }
+    beginUpdate();
+    try {
+        while(aValue>getSeriesCount()) {
+            DataSeries series = addSeriesForNameAndValues((String)null, (Double)null);
+            series.setPointCount(getPointCount());
+        }
     
-    // If value smaller than count, remove series
-    while(aValue<getSeriesCount())
-        removeSeries(getSeriesCount()-1);
+        // If value smaller than count, remove series
+        while(aValue<getSeriesCount())
+            removeSeries(getSeriesCount()-1);
+    }
+    finally { endUpdate(); }
 }
 
 /**
@@ -137,8 +145,9 @@ public double getMaxValue()
 public DataSeries addSeriesForNameAndValues(String aName, Double ... theVals)
 {
     DataSeries series = new DataSeries(); series.setName(aName);
-    addSeries(series);
-    series.setValues(theVals);
+    beginUpdate();
+    try { addSeries(series); series.setValues(theVals); }
+    finally { endUpdate(); }
     return series;
 }
 
@@ -156,6 +165,11 @@ public void setSeriesStart(int aValue)
     _chartView.repaint();
 }
 
+/**
+ * Returns the logical index of the first point in each series (non-zero when RingDataSeries have evicted points).
+ */
+public int getPointStart()  { return _series.size()>0? _series.get(0).getStartIndex() : 0; }
+
 /**
  * Returns the number of points in each series.
  */
@@ -166,8 +180,12 @@ public int getPointCount()  { return _series.get(0).getPointCount(); }
  */
 public void setPointCount(int aValue)
 {
-    for(DataSeries series : getSeries())
-        series.setPointCount(aValue);
+    beginUpdate();
+    try {
+        for(DataSeries series : getSeries())
+            series.setPointCount(aValue);
+    }
+    finally { endUpdate(); }
 }
 
 /**
@@ -176,7 +194,7 @@ public void setPointCount(int aValue)
 public boolean isSliceEmpty(int anIndex)
 {
     for(DataSeries ser : getSeries())
-        if(ser.getPoint(anIndex).isValueSet())
+        if(ser.isValueSet(anIndex))
             return false;
     return true;
 }
@@ -200,7 +218,7 @@ public Intervals getIntervals()
         return _intervals;
     
     // Create new intervals and return
-    _intervals = new Intervals(minVal, maxVal, height);
+    _intervals = Intervals.get(minVal, maxVal, height);
     return _intervals;
 }
 
@@ -233,13 +251,62 @@ public List <DataSeries> getActiveSeries()  { return getActiveSet().getSeries();
 public Intervals getActiveIntervals()  { return getActiveSet().getIntervals(); }
 
 /**
- * Clears cached values.
+ * Starts a batch update: Chart cache clear and reload are suspended until matching endUpdate() call.
+ */
+public void beginUpdate()  { _updateLevel++; }
+
+/**
+ * Ends a batch update: If last nested call and changes were made, clears chart cache and reloads once.
+ */
+public void endUpdate()
+{
+    if(--_updateLevel>0 || !_updateChanged) return;
+    _updateChanged = false;
+    clearCache();
+}
+
+/**
+ * Returns whether dataset is in batch update.
+ */
+public boolean isUpdating()  { return _updateLevel>0; }
+
+/**
+ * Runs given runnable as a batch update.
+ */
+public void batch(Runnable aRun)
+{
+    beginUpdate();
+    try { aRun.run(); }
+    finally { endUpdate(); }
+}
+
+/**
+ * Clears cached values (chart cache clear and reload are deferred if in batch update).
  */
 protected void clearCache()
 {
     _active = null; _minVal = Float.MAX_VALUE; _maxVal = -Float.MAX_VALUE;
+    if(_updateLevel>0) { _updateChanged = true; return; }
     _chartView.getChartArea().clearCache();
     _chartView.reloadContents(false);
 }
 
+/**
+ * Clears cached values for a change that only effects values: Clears chart area cache and repaints chart and axes
+ * (skipping legend reload).
+ */
+protected void clearValuesCache()
+{
+    // Clear min/max (and active set min/max)
+    _minVal = Float.MAX_VALUE; _maxVal = -Float.MAX_VALUE;
+    if(_active!=null) { _active._minVal = Float.MAX_VALUE; _active._maxVal = -Float.MAX_VALUE; }
+    if(_updateLevel>0) { _updateChanged = true; return; }
+    
+    // Clear chart area cache and repaint
+    _chartView.getChartArea().clearCache();
+    _chartView.getChartArea().repaint();
+    _chartView.getXAxis().repaint();
+    _chartView.getYAxis().repaint();
+}
+
 }
\ No newline at end of file
@@ -3,6 +3,7 @@
  */
 package rmcharts.app;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class represent a set of equally spaced interval values for a given min and max value and a height.
@@ -26,8 +27,15 @@ public class Intervals {
     // The number of interval values
     int               _count;
 
-    // The list of interval numbers
-    List <Double>     _intervals;
+    // The interval numbers
+    double            _intervals[];
+    
+    // The cache of created intervals (concurrent, so lookups from render threads don't contend for a lock)
+    static final Map <Key,Intervals> _cache = new ConcurrentHashMap();
+    
+    // Constants
+    static final int  CACHE_SIZE = 256;
+    static final double MIN_STEP_HEIGHT = 40;
 
 /**
  * Return well-chosen intervals given a min value, a max value and a height. For instance, (1,4) would return
@@ -39,9 +47,26 @@ public Intervals(double minValue, double maxValue, double aHeight)
     _minVal = minValue; _maxVal = maxValue; _height = aHeight;
     
     // Calculate intervals and cache Delta, Count
-    _intervals = getIntervalsFor(minValue, maxValue, aHeight, 40);
-    _delta = _intervals.get(1) - _intervals.get(0);
-    _count = _intervals.size();
+    _intervals = getIntervalsFor(minValue, maxValue, aHeight, MIN_STEP_HEIGHT);
+    _delta = _intervals[1] - _intervals[0];
+    _count = _intervals.length;
+}
+
+/**
+ * Returns intervals for given min value, max value and height, reusing previously created intervals if available.
+ * The cache is bounded by clearing it when full (intervals are cheap to recreate).
+ */
+public static Intervals get(double minValue, double maxValue, double aHeight)
+{
+    // If cached, just return
+    Key key = new Key(minValue, maxValue, aHeight, MIN_STEP_HEIGHT);
+    Intervals intervals = _cache.get(key); if(intervals!=null) return intervals;
+    
+    // Create intervals and add to cache (clearing cache first if full)
+    if(_cache.size()>=CACHE_SIZE) _cache.clear();
+    intervals = new Intervals(minValue, maxValue, aHeight);
+    Intervals old = _cache.putIfAbsent(key, intervals);
+    return old!=null? old : intervals;
 }
 
 /**
@@ -67,7 +92,7 @@ public int getCount()  { return _count; }
 /**
  * Returns the individual interval at a given index as a float value.
  */
-public Double getInterval(int anIndex)  { return _intervals.get(anIndex); }
+public double getInterval(int anIndex)  { return _intervals[anIndex]; }
 
 /**
  * Returns the last interval as a double value.
@@ -87,13 +112,12 @@ public double getDelta()  { return _delta; }
 /**
  * Returns well-chosen intervals from given min value to max value for given graph height and minimum step height.
  */
-private static List <Double> getIntervalsFor(double aMinValue, double aMaxValue, double aHeight, double aMinHeight)
+private static double[] getIntervalsFor(double aMinValue, double aMaxValue, double aHeight, double aMinHeight)
 {
     // Find factor of 10 that is just below maxValue (10 ^ factor+1 is above)
     if(aMinValue==aMaxValue) aMaxValue++;
     double bigValue = Math.max(Math.abs(aMinValue), Math.abs(aMaxValue));
-    int pow = -10; double factor = Math.pow(10, pow);
-    while(true) { if(factor<=bigValue && factor*10>=bigValue) break; pow++; factor = Math.pow(10,pow); }
+    double factor = getFactor(bigValue);
     
     // Declare array of pleasing increments (percents/100)
     double increments[] = { .2, .25, .40, .50, 1, 2, 2.5, 4, 5, 10 };
@@ -153,11 +177,58 @@ private static List <Double> getIntervalsFor(double aMinValue, double aMaxValue,
     if(steps==1 && aMinHeight>0)
         return getIntervalsFor(aMinValue, aMaxValue, aHeight, 0);
     
-    // Create intervals list and return
-    List <Double> ivals = new ArrayList(); for(int i=0;i<=steps;i++) ivals.add(axisMin + incr*i);
+    // Create intervals array and return
+    double ivals[] = new double[steps+1]; for(int i=0;i<=steps;i++) ivals[i] = axisMin + incr*i;
     return ivals;
 }
 
+/**
+ * Returns the first power of ten (from 10^-10 up) that is at or below given value with ten times it at or above it.
+ */
+private static double getFactor(double aValue)
+{
+    // If value below min factor, just return min factor
+    if(!(aValue>=1e-10)) return 1e-10;
+    
+    // Start just below power from log10 and step up to first that brackets value
+    int pow = Math.max((int)Math.ceil(Math.log10(aValue)) - 2, -10); double factor = Math.pow(10, pow);
+    while(factor>aValue || factor*10<aValue) { pow++; factor = Math.pow(10, pow); }
+    return factor;
+}
+
+/**
+ * A class to hold intervals cache key.
+ */
+private static class Key {
+    
+    // The min value, max value, height and min step height
+    double min, max, height, minHeight;
+    
+    /** Creates a Key. */
+    public Key(double aMin, double aMax, double aHeight, double aMinHeight)
+    {
+        min = aMin; max = aMax; height = aHeight; minHeight = aMinHeight;
+    }
+    
+    /** Standard equals implementation. */
+    public boolean equals(Object anObj)
+    {
+        Key other = anObj instanceof Key? (Key)anObj : null; if(other==null) return false;
+        return Double.compare(other.min, min)==0 && Double.compare(other.max, max)==0 &&
+            Double.compare(other.height, height)==0 && Double.compare(other.minHeight, minHeight)==0;
+    }
+    
+    /** Standard hashCode implementation. */
+    public int hashCode()
+    {
+        long bits = Double.doubleToLongBits(min);
+        bits = bits*31 + Double.doubleToLongBits(max);
+        bits = bits*31 + Double.doubleToLongBits(height);
+        bits = bits*31 + Double.doubleToLongBits(minHeight);
+        return (int)(bits ^ (bits>>>32));
+    }
+}
+
 /**
  * Returns the number of steps it takes to get to a value (or beyond) with given increment.
  */
@@ -0,0 +1,253 @@
+package rmcharts.app;
+
+/**
+ * A class to read JSON text token by token (pull parser), so large arrays can be read straight into primitives
+ * without building a node tree.
+ */
+public class JSONReader {
+
+    // The JSON text
+    String        _str;
+
+    // The current char index
+    int           _index;
+
+    // The text length
+    int           _len;
+
+    // Powers of ten that are exact in double precision
+    static final double POWERS_OF_TEN[] = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14,
+        1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+/**
+ * Creates a JSONReader for given string.
+ */
+public JSONReader(String aStr)  { _str = aStr; _len = aStr.length(); }
+
+/**
+ * Returns the current char index.
+ */
+public int getIndex()  { return _index; }
+
+/**
+ * Returns the next non-whitespace char without consuming it (or 0 if at end).
+ */
+public char peek()
+{
+    skipWhiteSpace();
+    return _index<_len? _str.charAt(_index) : 0;
+}
+
+/**
+ * Consumes the next non-whitespace char, complaining if it isn't the given char.
+ */
+public void readChar(char aChar)
+{
+    if(peek()!=aChar) throw error("Expected '" + aChar + "'");
+    _index++;
+}
+
+/**
+ * Consumes the next non-whitespace char if it is the given char and returns whether it was.
+ */
+public boolean readCharIf(char aChar)
+{
+    if(peek()!=aChar) return false;
+    _index++; return true;
+}
+
+/**
+ * Reads the start of an object or array and returns whether it has any elements.
+ */
+public boolean readStart(char aChar)
+{
+    readChar(aChar);
+    char end = aChar=='{'? '}' : ']';
+    return !readCharIf(end);
+}
+
+/**
+ * Reads the separator after an object or array element and returns whether another element follows.
+ */
+public boolean readNext(char anEndChar)
+{
+    if(readCharIf(',')) return true;
+    readChar(anEndChar); return false;
+}
+
+/**
+ * Reads an object key and the following colon.
+ */
+public String readKey()
+{
+    String key = readString();
+    readChar(':');
+    return key;
+}
+
+/**
+ * Returns whether next value is null, consuming it if so.
+ */
+public boolean readNullIf()
+{
+    if(peek()!='n') return false;
+    readLiteral("null"); return true;
+}
+
+/**
+ * Reads a string value.
+ */
+public String readString()
+{
+    readChar('"');
+
+    // Scan to end quote, noting escapes
+    int start = _index; boolean escaped = false;
+    while(_index<_len) { char c = _str.charAt(_index);
+        if(c=='"') break;
+        if(c=='\\') { escaped = true; _index++; }
+        _index++;
+    }
+    if(_index>=_len) throw error("Unterminated string");
+
+    // Get string (decoding escapes, if needed) and skip end quote
+    String str = escaped? unescape(start, _index) : _str.substring(start, _index);
+    _index++;
+    return str;
+}
+
+/**
+ * Reads a boolean value.
+ */
+public boolean readBoolean()
+{
+    if(peek()=='t') { readLiteral("true"); return true; }
+    readLiteral("false"); return false;
+}
+
+/**
+ * Reads a number value.
+ */
+public double readNumber()
+{
+    // Get start and sign
+    skipWhiteSpace();
+    int start = _index; boolean neg = false;
+    if(_index<_len && _str.charAt(_index)=='-') { neg = true; _index++; }
+
+    // Read up to 18 significant digits of mantissa and count digits after decimal point
+    long mant = 0; int digits = 0, scale = 0; boolean exact = true;
+    for(boolean dot = false; _index<_len; _index++) { char c = _str.charAt(_index);
+        if(c>='0' && c<='9') {
+            if(digits<18) { mant = mant*10 + (c - '0'); if(mant>0) digits++; if(dot) scale--; }
+            else if(!dot) { scale++; exact = false; }
+            else exact = false;
+        }
+        else if(c=='.' && !dot) dot = true;
+        else break;
+    }
+
+    // Read exponent
+    if(_index<_len && (_str.charAt(_index)=='e' || _str.charAt(_index)=='E')) { _index++;
+        boolean eneg = false; int exp = 0;
+        if(_index<_len && (_str.charAt(_index)=='+' || _str.charAt(_index)=='-')) eneg = _str.charAt(_index++)=='-';
+        for(; _index<_len; _index++) { char c = _str.charAt(_index);
+            if(c>='0' && c<='9') { if(exp<10000) exp = exp*10 + (c - '0'); } else break; }
+        scale += eneg? -exp : exp;
+    }
+
+    // Complain if no number
+    if(_index==start || _index==start+1 && neg) throw error("Expected number");
+
+    // If mantissa and scale are exactly representable, calculate directly (otherwise, use slow path)
+    if(exact && mant<(1L<<53) && scale>=-22 && scale<=22) {
+        double val = scale<0? mant/POWERS_OF_TEN[-scale] : mant*POWERS_OF_TEN[scale];
+        return neg? -val : val;
+    }
+    return Double.parseDouble(_str.substring(start, _index));
+}
+
+/**
+ * Skips the next value and returns its text.
+ */
+public String readValueText()
+{
+    skipWhiteSpace();
+    int start = _index;
+    skipValue();
+    return _str.substring(start, _index);
+}
+
+/**
+ * Skips the next value.
+ */
+public void skipValue()
+{
+    char c = peek();
+
+    // Handle object or array: skip to matching end char (ignoring chars in strings)
+    if(c=='{' || c=='[') { int depth = 0;
+        for(; _index<_len; _index++) { char c2 = _str.charAt(_index);
+            if(c2=='"') { readString(); _index--; }
+            else if(c2=='{' || c2=='[') depth++;
+            else if((c2=='}' || c2==']') && --depth==0) { _index++; return; }
+        }
+        throw error("Unterminated " + (c=='{'? "object" : "array"));
+    }
+
+    // Handle string, number or literal
+    if(c=='"') readString();
+    else if(c=='-' || c>='0' && c<='9') readNumber();
+    else if(c=='t' || c=='f') readBoolean();
+    else if(c=='n') readLiteral("null");
+    else throw error("Unexpected char '" + c + "'");
+}
+
+/**
+ * Reads given literal (true, false, null).
+ */
+void readLiteral(String aStr)
+{
+    if(!_str.startsWith(aStr, _index)) throw error("Expected " + aStr);
+    _index += aStr.length();
+}
+
+/**
+ * Skips whitespace.
+ */
+void skipWhiteSpace()
+{
+    while(_index<_len && Character.isWhitespace(_str.charAt(_index))) _index++;
+}
+
+/**
+ * Returns the string for given range with escapes decoded.
+ */
+String unescape(int aStart, int anEnd)
+{
+    StringBuilder sb = new StringBuilder(anEnd - aStart);
+    for(int i=aStart; i<anEnd; i++) { char c = _str.charAt(i);
+        if(c!='\\') { sb.append(c); continue; }
+        c = _str.charAt(++i);
+        switch(c) {
+            case 'b': sb.append('\b'); break;
+            case 'f': sb.append('\f'); break;
+            case 'n': sb.append('\n'); break;
+            case 'r': sb.append('\r'); break;
+            case 't': sb.append('\t'); break;
+            case 'u': sb.append((char)Integer.parseInt(_str.substring(i+1, i+5), 16)); i += 4; break;
+            default: sb.append(c);
+        }
+    }
+    return sb.toString();
+}
+
+/**
+ * Returns an exception for given message at current index.
+ */
+RuntimeException error(String aMsg)
+{
+    return new RuntimeException("JSONReader: " + aMsg + " at index " + _index);
+}
+
+}
@@ -1,111 +1,250 @@
 package rmcharts.app;
+import java.io.*;
 import java.text.DecimalFormat;
 import java.util.*;
 import snap.gfx.Color;
 
 /**
- * A class to write a Map to string.
+ * A class to write a Map to string (or any Appendable/OutputStream) in a single pass.
+ *
+ * Simple maps and lists (no nested maps or lists) are written on a single line if short: The single line form is
+ * written to a small look-ahead buffer first, which is abandoned as soon as it reaches the max line size, so each
+ * value is formatted at most twice and output is linear in size. Output is buffered and flushed as it goes.
  */
 public class MapWriter {
-    
-    // The StringBuffer
-    StringBuffer    _sb = new StringBuffer();
+
+    // The buffer (flushed to output as it fills, if writing to output)
+    StringBuilder   _sb = new StringBuilder();
+
+    // The output (null if just writing to string)
+    Appendable      _out;
 
     // The current level of indent
     int             _indent = 0;
-    
+
     // The indent string
     String          _istr = "    ";
-    
+
     // Whether writing compact
     boolean         _compact;
-    
-    // A formatter
-    static DecimalFormat _fmt = new DecimalFormat("#.###");
+
+    // The look-ahead buffer used to write simple maps and lists on a single line
+    StringBuilder   _look = new StringBuilder();
+
+    // A formatter (per writer, since DecimalFormat isn't thread-safe)
+    DecimalFormat   _fmt = new DecimalFormat("#.###");
+
+    // Constants
+    static final int MAX_LINE_SIZE = 100;
+    static final int FLUSH_SIZE = 8192;
 
 /**
  * Returns a string for given map.
  */
 public String getString(Map aMap)
 {
-    _sb.setLength(0);
+    _sb.setLength(0); _out = null;
     writeMapTop(aMap);
     return _sb.toString();
 }
 
+/**
+ * Writes given map to given Appendable.
+ */
+public void write(Map aMap, Appendable anOut)
+{
+    _sb.setLength(0); _out = anOut;
+    writeMapTop(aMap);
+    flush();
+    _out = null;
+}
+
+/**
+ * Writes given map to given OutputStream (as UTF-8).
+ */
+public void write(Map aMap, OutputStream aStream)
+{
+    try {
+        Writer writer = new OutputStreamWriter(aStream, "UTF-8");
+        write(aMap, writer);
+        writer.flush();
+    }
+    catch(IOException e) { throw new RuntimeException(e); }
+}
+
 /**
  * Writes a key.
  */
 protected void writeKey(String aKey)  { _sb.append(aKey); }
 
 /**
- * Writes an object to StringBuffer.
+ * Writes an object to buffer.
  */
 protected void writeValue(Object anObj)
 {
     if(anObj instanceof String) _sb.append('\"').append(anObj).append('\"');
+    else if(anObj instanceof Double || anObj instanceof Float) writeNumber(((Number)anObj).doubleValue());
+    else if(anObj instanceof Integer || anObj instanceof Long) _sb.append(((Number)anObj).longValue());
     else if(anObj instanceof Number) _sb.append(_fmt.format((Number)anObj));
     else if(anObj instanceof Color) writeColor((Color)anObj);
     else if(anObj instanceof Boolean) _sb.append((Boolean)anObj);
     else if(anObj==null) _sb.append("null");
     else if(anObj instanceof Map) writeMap((Map)anObj);
     else if(anObj instanceof List) writeList((List)anObj);
+    else if(anObj instanceof double[]) writeArray((double[])anObj);
     else System.err.println("MapWriter.writeVaue: Unsupported class: " + anObj.getClass().getSimpleName());
 }
 
 /**
- * Writes a map to StringBuffer.
+ * Writes a number with up to three decimal places (NaN and infinity as null).
+ */
+protected void writeNumber(double aValue)
+{
+    // Handle NaN and infinity
+    if(Double.isNaN(aValue) || Double.isInfinite(aValue)) { _sb.append("null"); return; }
+
+    // If value in thousandths isn't near a rounding tie (and is well within long precision), write digits directly
+    double scaled = aValue*1000, frac = scaled - Math.floor(scaled);
+    if(Math.abs(frac - .5)>1e-3 && Math.abs(scaled)<1e12) {
+        long val = Math.abs(Math.round(scaled)), ival = val/1000; int fval = (int)(val%1000);
+        if(aValue<0 || 1/aValue<0) _sb.append('-');
+        _sb.append(ival);
+        if(fval!=0) { _sb.append('.').append((char)('0' + fval/100)); fval %= 100;
+            if(fval!=0) { _sb.append((char)('0' + fval/10)); fval %= 10;
+                if(fval!=0) _sb.append((char)('0' + fval)); } }
+        return;
+    }
+
+    // Otherwise use formatter
+    _sb.append(_fmt.format(aValue));
+}
+
+/**
+ * Writes a map to buffer.
  */
 protected void writeMapTop(Map aMap)
 {
     String keys[] = { "title", "subtitle", "yaxis", "xaxis", "legend", "plotOptions", "series" };
     Map map = new HashMap(aMap);
-    
+    List <String> allKeys = new ArrayList(Arrays.asList(keys));
+    for(String key : keys) map.remove(key);
+    allKeys.addAll(map.keySet());
+
+    // Write keys (a blank line before each), separated by commas
     _sb.append('{'); newline(); indent();
-    for(String key : keys) { Object val = aMap.get(key); map.remove(key); newline();
-        writeIndent(); _sb.append(key).append(": "); writeValue(val); _sb.append(","); newline(); }
-    for(String key : (Set<String>)map.keySet()) { Object val = map.get(key); newline();
-        writeIndent(); _sb.append(key).append(": "); writeValue(val); _sb.append(","); newline(); }
-    if(aMap.size()>0) { delete(2); newline(); }
+    for(int i=0, iMax=allKeys.size(); i<iMax; i++) { String key = allKeys.get(i); Object val = aMap.get(key);
+        newline(); writeIndent(); writeKey(key); _sb.append(": "); writeValue(val);
+        if(i+1<iMax || aMap.size()==0) { _sb.append(","); newline(); }
+        flushIfNeeded();
+    }
+    if(aMap.size()>0) newline();
     outdent(); writeIndent(); _sb.append('}');
 }
 
 /**
- * Writes a map to StringBuffer.
+ * Writes a map to buffer.
  */
 protected void writeMap(Map aMap)
 {
-    int len = _sb.length(); boolean simple = true;
-    _sb.append('{'); newline(); indent();
-    for(String key : (Set<String>)aMap.keySet()) { Object val = aMap.get(key);
-        writeIndent(); _sb.append(key).append(": "); writeValue(val); _sb.append(","); newline();
-        if(simple && (val instanceof Map || val instanceof List)) simple = false;
+    // If map is simple (no map/list values), try writing as single line
+    boolean simple = true;
+    for(Object val : aMap.values()) if(!isSimpleValue(val)) { simple = false; break; }
+    if(simple && !_compact && writeSingleLine(aMap)) return;
+
+    // Write entries
+    _sb.append('{'); newline(); indent(); int i = 0;
+    for(Map.Entry entry : (Set<Map.Entry>)aMap.entrySet()) {
+        if(i++>0) { _sb.append(","); newline(); }
+        writeIndent(); writeKey((String)entry.getKey()); _sb.append(": "); writeValue(entry.getValue());
+        if(!_compact) flushIfNeeded();
+        else if(isLookAheadFull()) return;
     }
-    if(aMap.size()>0) { delete(2); newline(); }
+    if(i>0) newline();
     outdent(); writeIndent(); _sb.append('}');
-    
-    // If map less than 100 chars, write as single line
-    int size = _sb.length() - len, size2 = size - getSpaceCount(len);
-    if(simple && size2<100 && !_compact) { delete(size); _compact = true; writeMap(aMap); _compact = false; }
 }
 
 /**
- * Writes a list to StringBuffer.
+ * Writes a list to buffer.
  */
 protected void writeList(List aList)
 {
-    int len = _sb.length(); boolean simple = true;
-    _sb.append('['); newline(); indent();
+    // If list is simple (no map/list values), try writing as single line
+    boolean simple = true;
+    for(Object val : aList) if(!isSimpleValue(val)) { simple = false; break; }
+    if(simple && !_compact && writeSingleLine(aList)) return;
+
+    // Write values
+    _sb.append('['); newline(); indent(); int i = 0;
     for(Object val : aList) {
-        writeIndent(); writeValue(val); _sb.append(','); newline();
-        if(simple && (val instanceof Map || val instanceof List)) simple = false;
+        if(i++>0) { _sb.append(','); newline(); }
+        writeIndent(); writeValue(val);
+        if(!_compact) flushIfNeeded();
+        else if(isLookAheadFull()) return;
     }
-    if(aList.size()>0) { delete(2); newline(); }
+    if(i>0) newline();
     outdent(); writeIndent(); _sb.append(']');
-    
-    // If map less than 100 chars, write as single line
-    int size = _sb.length() - len, size2 = size - getSpaceCount(len);
-    if(simple && size2<100 && !_compact) { delete(size); _compact = true; writeList(aList); _compact = false; }
+}
+
+/**
+ * Writes a numeric array to buffer (as a list of numbers).
+ */
+protected void writeArray(double theVals[])
+{
+    // Try writing as single line
+    if(!_compact && writeSingleLine(theVals)) return;
+
+    // Write values
+    _sb.append('['); newline(); indent();
+    for(int i=0; i<theVals.length; i++) {
+        if(i>0) { _sb.append(','); newline(); }
+        writeIndent(); writeNumber(theVals[i]);
+        if(!_compact) flushIfNeeded();
+        else if(isLookAheadFull()) return;
+    }
+    if(theVals.length>0) newline();
+    outdent(); writeIndent(); _sb.append(']');
+}
+
+/**
+ * Writes given map, list or array as single line to look-ahead buffer and copies it to buffer if it is short enough.
+ * Returns whether it was written.
+ */
+boolean writeSingleLine(Object anObj)
+{
+    // Write compact to look-ahead buffer (stops if max size is reached)
+    StringBuilder sb = _sb; int indent = _indent; _look.setLength(0); _sb = _look; _compact = true;
+    if(anObj instanceof Map) writeMap((Map)anObj);
+    else if(anObj instanceof List) writeList((List)anObj);
+    else writeArray((double[])anObj);
+    _sb = sb; _indent = indent; _compact = false;
+
+    // If short enough, append to buffer and return true
+    if(getLineSize(_look)>=MAX_LINE_SIZE) return false;
+    _sb.append(_look);
+    return true;
+}
+
+/**
+ * Returns whether value can be written in single line map or list.
+ */
+boolean isSimpleValue(Object anObj)  { return !(anObj instanceof Map || anObj instanceof List || anObj instanceof double[]); }
+
+/**
+ * Returns whether look-ahead buffer is at max line size (so single line write can stop).
+ */
+boolean isLookAheadFull()  { return _sb==_look && getLineSize(_look)>=MAX_LINE_SIZE; }
+
+/**
+ * Returns the size of given single line (not counting whitespace that follows whitespace).
+ */
+int getLineSize(CharSequence aStr)
+{
+    int count = 0; boolean lastWasWhiteSpace = false;
+    for(int i=0, iMax=aStr.length(); i<iMax; i++) {
+        boolean ws = Character.isWhitespace(aStr.charAt(i));
+        if(ws && lastWasWhiteSpace) count++; lastWasWhiteSpace = ws;
+    }
+    return aStr.length() - count;
 }
 
 /**
@@ -137,24 +276,18 @@ protected void writeIndent()  { if(!_compact) for(int i=0;i<_indent;i++) _sb.app
 void newline()  { if(_compact) _sb.append(' '); else _sb.append('\n'); }
 
 /**
- * Deletes the given number of last chars.
+ * Flushes buffer to output if writing to output and buffer is full.
  */
-protected void delete(int aCount)
-{
-    _sb.delete(_sb.length() - aCount, _sb.length());
-}
+void flushIfNeeded()  { if(_out!=null && _sb.length()>=FLUSH_SIZE) flush(); }
 
 /**
- * Returns the space count after given index.
+ * Flushes buffer to output (if writing to output).
  */
-int getSpaceCount(int anIndex)
+void flush()
 {
-    int count = 0; boolean lastWasWhiteSpace = false;
-    for(int i=anIndex,iMax=_sb.length(); i<iMax; i++) {
-        boolean ws = Character.isWhitespace(_sb.charAt(i));
-        if(ws && lastWasWhiteSpace) count++; lastWasWhiteSpace = ws;
-    }
-    return count;
+    if(_out==null) return;
+    try { _out.append(_sb); _sb.setLength(0); }
+    catch(IOException e) { throw new RuntimeException(e); }
 }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package rmcharts.app;
+
+/**
+ * A class to find the point nearest to a given location in O(1) average time. Points are bucketed into a uniform grid
+ * of cells (stored as flat arrays), and queries search rings of cells outward from the location until no closer
+ * point is possible. Queries don't allocate.
+ */
+public class PointIndex {
+
+    // The point x/y values for each series
+    double       _xs[][], _ys[][];
+
+    // The grid origin, cell size and number of columns/rows
+    double       _x, _y, _cellSize;
+    int          _cols, _rows;
+
+    // The start of each cell's entries in entry arrays (cell i entries are at cellStarts[i] to cellStarts[i+1])
+    int          _cellStarts[];
+
+    // The series index and point index of each entry
+    int          _entrySeries[], _entryPoints[];
+
+/**
+ * Creates a PointIndex for given point x/y values for each series, in given bounds.
+ */
+public PointIndex(double theXs[][], double theYs[][], double aX, double aY, double aW, double aH)
+{
+    // Get point count
+    _xs = theXs; _ys = theYs;
+    int count = 0; for(double xs[] : theXs) count += xs.length;
+
+    // Get cell size for about four points per cell (but no smaller than 4 pixels) and columns/rows
+    double w = Math.max(aW, 1), h = Math.max(aH, 1);
+    _x = aX; _y = aY; _cellSize = Math.max(4, Math.sqrt(w*h*4/Math.max(count, 1)));
+    _cols = (int)Math.ceil(w/_cellSize); _rows = (int)Math.ceil(h/_cellSize);
+
+    // Count entries for each cell, then convert counts to cell starts
+    int cellCount = _cols*_rows; _cellStarts = new int[cellCount+1];
+    for(int i=0;i<theXs.length;i++)
+        for(int j=0;j<theXs[i].length;j++) _cellStarts[getCell(theXs[i][j], theYs[i][j])+1]++;
+    for(int i=0;i<cellCount;i++) _cellStarts[i+1] += _cellStarts[i];
+
+    // Fill entries
+    _entrySeries = new int[count]; _entryPoints = new int[count];
+    int next[] = new int[cellCount]; System.arraycopy(_cellStarts, 0, next, 0, cellCount);
+    for(int i=0;i<theXs.length;i++)
+        for(int j=0;j<theXs[i].length;j++) { int e = next[getCell(theXs[i][j], theYs[i][j])]++;
+            _entrySeries[e] = i; _entryPoints[e] = j; }
+}
+
+/**
+ * Returns the index of the entry nearest given point (or -1 if no points).
+ */
+public int getNearest(double aX, double aY)
+{
+    // Get cell column/row for point
+    int col = getCol(aX), row = getRow(aY), ringMax = Math.max(_cols, _rows);
+    int best = -1; double bestDist2 = Double.MAX_VALUE;
+
+    // Iterate over rings of cells around point cell
+    for(int r=0; r<=ringMax; r++) {
+        int c0 = col - r, c1 = col + r, r0 = row - r, r1 = row + r;
+        for(int rw=Math.max(r0,0), rwMax=Math.min(r1,_rows-1); rw<=rwMax; rw++) {
+            boolean edgeRow = rw==r0 || rw==r1;
+            for(int cl=Math.max(c0,0), clMax=Math.min(c1,_cols-1); cl<=clMax; cl++) {
+                if(!edgeRow && cl!=c0 && cl!=c1) { cl = c1 - 1; continue; }
+
+                // Iterate over cell entries and check distance
+                int cell = rw*_cols + cl;
+                for(int e=_cellStarts[cell], eMax=_cellStarts[cell+1]; e<eMax; e++) {
+                    int s = _entrySeries[e], p = _entryPoints[e];
+                    double dx = _xs[s][p] - aX, dy = _ys[s][p] - aY, d2 = dx*dx + dy*dy;
+                    if(d2<bestDist2 || d2==bestDist2 && isBefore(e, best)) { bestDist2 = d2; best = e; }
+                }
+            }
+        }
+
+        // If best point is closer than any point in next ring could be, stop
+        double ringDist = r*_cellSize;
+        if(best>=0 && bestDist2<=ringDist*ringDist) break;
+    }
+
+    // Return best entry
+    return best;
+}
+
+/**
+ * Returns the series index of given entry.
+ */
+public int getSeriesIndex(int anEntry)  { return _entrySeries[anEntry]; }
+
+/**
+ * Returns the point index of given entry.
+ */
+public int getPointIndex(int anEntry)  { return _entryPoints[anEntry]; }
+
+/**
+ * Returns whether given entry is before other entry in series/point order (used to break distance ties).
+ */
+boolean isBefore(int anEntry, int anOther)
+{
+    int s0 = _entrySeries[anEntry], s1 = _entrySeries[anOther];
+    return s0<s1 || s0==s1 && _entryPoints[anEntry]<_entryPoints[anOther];
+}
+
+/**
+ * Returns the cell for given point.
+ */
+int getCell(double aX, double aY)  { return getRow(aY)*_cols + getCol(aX); }
+
+/**
+ * Returns the cell column for given x (clamped to grid).
+ */
+int getCol(double aX)
+{
+    int col = (int)Math.floor((aX - _x)/_cellSize);
+    return col<0? 0 : col>=_cols? _cols - 1 : col;
+}
+
+/**
+ * Returns the cell row for given y (clamped to grid).
+ */
+int getRow(double aY)
+{
+    int row = (int)Math.floor((aY - _y)/_cellSize);
+    return row<0? 0 : row>=_rows? _rows - 1 : row;
+}
+
+}
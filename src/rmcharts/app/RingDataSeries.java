@@ -0,0 +1,273 @@
+package rmcharts.app;
+import java.util.*;
+
+/**
+ * A DataSeries with fixed capacity for streaming data: Adding a point to a full series evicts the oldest point in
+ * O(1) and advances the logical start index, so the series is a sliding window over the most recent points.
+ *
+ * Values are stored in a circular buffer: the point at index i is stored at slot (head + i) % capacity.
+ */
+public class RingDataSeries extends DataSeries {
+
+    // The fixed capacity
+    int               _capacity;
+
+    // The slot of the first point
+    int               _head;
+
+    // The logical index of the first point (number of evicted points)
+    int               _start;
+
+    // The cached values array in point order (and whether it is current)
+    double            _window[];
+    boolean           _windowValid;
+
+/**
+ * Creates a RingDataSeries with given capacity.
+ */
+public RingDataSeries(int aCapacity)
+{
+    _capacity = aCapacity;
+    _values = new double[aCapacity];
+}
+
+/**
+ * Returns the fixed capacity.
+ */
+public int getCapacity()  { return _capacity; }
+
+/**
+ * Returns whether series is full (adding a point will evict the oldest point).
+ */
+public boolean isFull()  { return _count==_capacity; }
+
+/**
+ * Override to return number of evicted points.
+ */
+public int getStartIndex()  { return _start; }
+
+/**
+ * Returns the slot for given point index.
+ */
+int getSlot(int anIndex)
+{
+    int slot = _head + anIndex;
+    return slot<_capacity? slot : slot - _capacity;
+}
+
+/**
+ * Override to add point (evicting oldest point if full) and only clear values cache.
+ */
+public void addPoint(String aName, Double aValue)
+{
+    addPointImpl(aName, aValue!=null? aValue : 0, aValue==null);
+    clearValuesCache();
+}
+
+/**
+ * Override to add point at end of ring buffer, evicting oldest point if full.
+ */
+void addPointImpl(String aName, double aValue, boolean isNull)
+{
+    // If full, evict oldest point
+    if(_count==_capacity) evictImpl();
+
+    // Set value, null bit and name in next slot
+    int slot = getSlot(_count);
+    _values[slot] = aValue;
+    _nulls.set(slot, isNull); if(!isNull) _valueCount++;
+    if(aName!=null || _nameIds!=null) setPointNameImpl(slot, aName);
+    if(_stats!=null) _stats.set(slot, aValue);
+    _count++; _windowValid = false;
+}
+
+/**
+ * Removes the oldest point and advances the start index.
+ */
+void evictImpl()
+{
+    if(isValueSet(0)) _valueCount--;
+    if(_stats!=null) _stats.clear(_head);
+    _nulls.clear(_head);
+    _head = getSlot(1); _count--; _start++; _windowValid = false;
+}
+
+/**
+ * Override to do nothing, since capacity is fixed.
+ */
+void ensureCapacity(int aCount)  { }
+
+/**
+ * Override to evict in O(1) if first point, otherwise to remove from point ordered buffer.
+ */
+public DataPoint removePoint(int anIndex)
+{
+    // If index out of bounds, complain and return
+    if(anIndex<0 || anIndex>=_count) {
+        System.err.println("RingDataSeries.removePoint: Index out of bounds: " + anIndex); return null; }
+    
+    // If first point, just evict
+    if(anIndex==0) {
+        DataPoint dpnt = new DataPoint.Removed(this, 0, getPointName(0), getValue(0));
+        evictImpl(); clearValuesCache();
+        return dpnt;
+    }
+
+    // Otherwise, rotate to put head at zero and do normal version
+    rotateToZero();
+    DataPoint dpnt = super.removePoint(anIndex);
+    _windowValid = false;
+    return dpnt;
+}
+
+/**
+ * Reorders buffer so that first point is at slot zero.
+ */
+void rotateToZero()
+{
+    if(_head==0) return;
+
+    // Rotate values, nulls and names
+    double vals[] = new double[_capacity]; int ids[] = _nameIds!=null? new int[_capacity] : null; BitSet nulls = new BitSet();
+    for(int i=0;i<_count;i++) { int slot = getSlot(i);
+        vals[i] = _values[slot]; if(_nulls.get(slot)) nulls.set(i); if(ids!=null) ids[i] = _nameIds[slot]; }
+    _values = vals; _nulls = nulls; if(ids!=null) _nameIds = ids;
+    
+    // Clear stats, since they are over slots (rebuilt lazily once in O(capacity) by getStats)
+    _head = 0; _stats = null;
+}
+
+/**
+ * Override to map index to slot.
+ */
+public String getPointName(int anIndex)
+{
+    return _nameIds!=null && anIndex<_count? _names.get(_nameIds[getSlot(anIndex)]) : null;
+}
+
+/**
+ * Override to map index to slot.
+ */
+public boolean hasPointNames()
+{
+    if(_nameIds==null) return false;
+    for(int i=0;i<_count;i++) if(_nameIds[getSlot(i)]!=0) return true;
+    return false;
+}
+
+/**
+ * Override to map index to slot.
+ */
+public boolean isValueSet(int anIndex)  { return anIndex<_count && !_nulls.get(getSlot(anIndex)); }
+
+/**
+ * Override to map index to slot.
+ */
+public Double getValue(int anIndex)
+{
+    return isValueSet(anIndex)? _values[getSlot(anIndex)] : null;
+}
+
+/**
+ * Override to map index to slot.
+ */
+public double getValueX(int anIndex)
+{
+    return anIndex<_count? _values[getSlot(anIndex)] : 0;
+}
+
+/**
+ * Override to map index to slot and only clear values cache.
+ */
+public void setValue(Double aValue, int anIndex)
+{
+    // If index outside of window capacity, complain and return (adding points would just evict them)
+    if(anIndex<0 || anIndex>=_capacity) {
+        System.err.println("RingDataSeries.setValue: Index outside of capacity: " + anIndex); return; }
+    
+    // Add null points up to index, then set value, null bit and stats
+    while(anIndex>=getPointCount()) addPointImpl(null, 0, true);
+    int slot = getSlot(anIndex);
+    if(isValueSet(anIndex)) _valueCount--;
+    if(aValue!=null) _valueCount++;
+    _values[slot] = aValue!=null? aValue : 0;
+    _nulls.set(slot, aValue==null);
+    if(_stats!=null) _stats.set(slot, _values[slot]);
+    _windowValid = false;
+    clearValuesCache();
+}
+
+/**
+ * Override to limit point count to capacity (adding points beyond capacity would just evict them).
+ */
+public void setPointCount(int aValue)  { super.setPointCount(Math.min(aValue, _capacity)); }
+
+/**
+ * Override to reset head and start index.
+ */
+public void setValues(Double ... theVals)
+{
+    _head = _start = 0; _windowValid = false;
+    super.setValues(theVals);
+}
+
+/**
+ * Override to return values in point order (copied from ring buffer once per change and reused). This is O(capacity)
+ * after every append, so per-tick code (like line chart paths) should read values with getValueX(i) instead.
+ */
+public double[] getValues()
+{
+    // If cached window is current, just return it
+    if(_windowValid) return _window;
+
+    // Get array (reuse if same size) and copy slots from head to end, then from zero to tail
+    if(_window==null || _window.length!=_count) _window = new double[_count];
+    int len0 = Math.min(_count, _capacity - _head);
+    System.arraycopy(_values, _head, _window, 0, len0);
+    System.arraycopy(_values, 0, _window, len0, _count - len0);
+    _windowValid = true;
+    return _window;
+}
+
+/**
+ * Override to map range to slots (range can wrap to two slot ranges).
+ */
+public double getMinValue(int aStart, int anEnd)
+{
+    int s0 = getSlot(aStart), s1 = s0 + anEnd - aStart; SeriesStats stats = getStats();
+    if(s1<=_capacity) return stats.getMin(s0, s1);
+    return Math.min(stats.getMin(s0, _capacity), stats.getMin(0, s1 - _capacity));
+}
+
+/**
+ * Override to map range to slots (range can wrap to two slot ranges).
+ */
+public double getMaxValue(int aStart, int anEnd)
+{
+    int s0 = getSlot(aStart), s1 = s0 + anEnd - aStart; SeriesStats stats = getStats();
+    if(s1<=_capacity) return stats.getMax(s0, s1);
+    return Math.max(stats.getMax(s0, _capacity), stats.getMax(0, s1 - _capacity));
+}
+
+/**
+ * Override to create stats over buffer slots (so appends/evictions update a single slot).
+ */
+protected SeriesStats getStats()
+{
+    if(_stats!=null) return _stats;
+    SeriesStats stats = new SeriesStats(_values, _capacity, _capacity);
+    for(int i=_count;i<_capacity;i++) stats.clear(getSlot(i));
+    return _stats = stats;
+}
+
+/**
+ * Override to map index to slot.
+ */
+public boolean isClear()
+{
+    if(getName()!=null && getName().length()>0) return false;
+    for(int i=0;i<_count;i++) if(isValueSet(i)) return false;
+    return true;
+}
+
+}
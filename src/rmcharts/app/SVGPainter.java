@@ -0,0 +1,423 @@
+package rmcharts.app;
+import java.io.*;
+import java.util.*;
+import snap.gfx.*;
+
+/**
+ * A Painter that streams SVG elements to a Writer as a chart paints (for vector export).
+ *
+ * Coordinates are transformed as they are written, so no element needs a transform (except text and images).
+ * Consecutive opaque fills (or strokes) with the same style are coalesced into a single path element, and path
+ * coordinates are written straight to the Writer from a reusable char buffer, so a large series path is written in
+ * one pass without building intermediate strings.
+ */
+public class SVGPainter extends Painter {
+
+    // The Writer
+    Writer             _out;
+
+    // The current graphics state
+    GState             _gstate = new GState();
+
+    // The saved graphics states
+    List <GState>      _gstates = new ArrayList();
+
+    // The style attributes of the open path element (null if no open path)
+    String             _pathStyle;
+
+    // The next clip id
+    int                _clipId;
+
+    // A buffer for writing numbers
+    char               _numBuf[] = new char[24];
+
+    // A point for transforming coords
+    double             _pnt[] = new double[6];
+
+/**
+ * Creates a SVGPainter for given Writer and size, and writes the SVG start tag.
+ */
+public SVGPainter(Writer aWriter, double aW, double aH)
+{
+    _out = aWriter;
+    write("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"");
+    writeNum(aW); write("\" height=\""); writeNum(aH); write("\" viewBox=\"0 0 ");
+    writeNum(aW); write(' '); writeNum(aH); write("\">\n");
+}
+
+/**
+ * Closes any open elements, writes the SVG end tag and flushes the Writer.
+ */
+public void finish()
+{
+    closePath();
+    while(_gstates.size()>0) restore();
+    closeGroups();
+    write("</svg>\n");
+    try { _out.flush(); }
+    catch(IOException e) { throw new RuntimeException(e); }
+}
+
+/** Returns the current paint. */
+public Paint getPaint()  { return _gstate.paint; }
+
+/** Sets the current paint. */
+public void setPaint(Paint aPaint)  { _gstate.paint = aPaint; _gstate.clearStyles(); }
+
+/** Returns the current stroke. */
+public Stroke getStroke()  { return _gstate.stroke; }
+
+/** Sets the current stroke. */
+public void setStroke(Stroke aStroke)  { _gstate.stroke = aStroke; _gstate.clearStyles(); }
+
+/** Returns the current opacity. */
+public double getOpacity()  { return _gstate.opacity; }
+
+/** Sets the current opacity. */
+public void setOpacity(double aValue)  { _gstate.opacity = aValue; _gstate.clearStyles(); }
+
+/** Returns the current font. */
+public Font getFont()  { return _gstate.font; }
+
+/** Sets the current font. */
+public void setFont(Font aFont)  { _gstate.font = aFont; }
+
+/**
+ * Strokes given shape.
+ */
+public void draw(Shape aShape)  { writePath(aShape, _gstate.getStrokeStyle()); }
+
+/**
+ * Fills given shape.
+ */
+public void fill(Shape aShape)  { writePath(aShape, _gstate.getFillStyle()); }
+
+/**
+ * Draws given image source rect in given destination rect (as a nested svg viewport with an embedded PNG).
+ */
+public void drawImage(Image anImg, double sx, double sy, double sw, double sh, double dx, double dy, double dw,
+    double dh)
+{
+    closePath();
+    write("<g"); writeTransformAttr(); write("><svg x=\""); writeNum(dx); write("\" y=\""); writeNum(dy);
+    write("\" width=\""); writeNum(dw);
+    write("\" height=\""); writeNum(dh); write("\" viewBox=\""); writeNum(sx); write(' '); writeNum(sy); write(' ');
+    writeNum(sw); write(' '); writeNum(sh); write("\" preserveAspectRatio=\"none\"><image width=\"");
+    writeNum(anImg.getWidth()); write("\" height=\""); writeNum(anImg.getHeight()); write("\" xlink:href=\"");
+    write("data:image/png;base64,"); write(Base64.getEncoder().encodeToString(anImg.getBytesPNG()));
+    write("\"/></svg></g>\n");
+}
+
+/**
+ * Draws given string at given baseline point with given char spacing.
+ */
+public void drawString(String aStr, double aX, double aY, double cs)
+{
+    closePath();
+    Font font = _gstate.font;
+    write("<text"); writeTransformAttr(); write(" x=\""); writeNum(aX); write("\" y=\""); writeNum(aY); write('"');
+    if(font!=null) {
+        write(" font-family=\""); writeText(font.getFamily()); write("\" font-size=\""); writeNum(font.getSize());
+        write('"'); if(font.isBold()) write(" font-weight=\"bold\""); if(font.isItalic()) write(" font-style=\"italic\"");
+    }
+    if(cs!=0) { write(" letter-spacing=\""); writeNum(cs); write('"'); }
+    write(' '); write(_gstate.getFillStyle()); write('>'); writeText(aStr); write("</text>\n");
+}
+
+/**
+ * Returns a copy of the current transform.
+ */
+public Transform getTransform()
+{
+    double m[] = _gstate.matrix;
+    return new Transform(m[0], m[1], m[2], m[3], m[4], m[5]);
+}
+
+/**
+ * Concatenates given transform to the current transform.
+ */
+public void transform(Transform aTrans)
+{
+    double t[] = new double[6]; aTrans.getMatrix(t);
+    double m[] = _gstate.matrix, a = m[0], b = m[1], c = m[2], d = m[3];
+    m[0] = a*t[0] + c*t[1]; m[1] = b*t[0] + d*t[1];
+    m[2] = a*t[2] + c*t[3]; m[3] = b*t[2] + d*t[3];
+    m[4] += a*t[4] + c*t[5]; m[5] += b*t[4] + d*t[5];
+    _gstate.clearStyles();
+}
+
+/**
+ * Returns the current clip shape (in device coords, the intersection of clips since it was last restored).
+ */
+public Shape getClip()  { return _gstate.clip; }
+
+/**
+ * Clips to given shape (as a group with a clip path). The clip is kept in device coords, like the written clip path.
+ */
+public void clip(Shape aShape)
+{
+    closePath();
+    int id = _clipId++;
+    write("<clipPath id=\"clip"); write(Integer.toString(id)); write("\"><path d=\"");
+    writePathData(aShape); write("\"/></clipPath>\n");
+    write("<g clip-path=\"url(#clip"); write(Integer.toString(id)); write(")\">\n");
+    _gstate.groups++;
+    Shape clip = aShape.copyFor(getTransform());
+    _gstate.clip = _gstate.clip!=null? Shape.intersect(_gstate.clip, clip) : clip;
+}
+
+/**
+ * Saves the graphics state.
+ */
+public void save()
+{
+    _gstates.add(_gstate);
+    _gstate = _gstate.clone();
+}
+
+/**
+ * Restores the graphics state (closing clip groups opened since save).
+ */
+public void restore()
+{
+    closePath();
+    closeGroups();
+    if(_gstates.size()>0) _gstate = _gstates.remove(_gstates.size()-1);
+}
+
+/**
+ * Writes given shape as a path with given style, appending to open path if style is the same and opaque.
+ */
+protected void writePath(Shape aShape, String aStyle)
+{
+    // If no open path, or open path has different style, or style isn't opaque, close it and open new path
+    if(_pathStyle==null || !_pathStyle.equals(aStyle) || !_gstate.isOpaque()) {
+        closePath();
+        write("<path "); write(aStyle); write(" d=\"");
+        _pathStyle = aStyle;
+    }
+
+    // Otherwise, add space to separate from previous path data
+    else write(' ');
+
+    // Write path data
+    writePathData(aShape);
+}
+
+/**
+ * Closes the open path element, if any.
+ */
+protected void closePath()
+{
+    if(_pathStyle==null) return;
+    write("\"/>\n"); _pathStyle = null;
+}
+
+/**
+ * Closes the clip groups of current graphics state.
+ */
+void closeGroups()
+{
+    for(int i=0;i<_gstate.groups;i++) write("</g>\n");
+    _gstate.groups = 0;
+}
+
+/**
+ * Writes the path data for given shape (in device coords).
+ */
+protected void writePathData(Shape aShape)
+{
+    double pts[] = _pnt; boolean first = true;
+    for(PathIter piter=aShape.getPathIter(null); piter.hasNext();) { Seg seg = piter.getNext(pts);
+        if(!first) write(' '); first = false;
+        switch(seg) {
+            case MoveTo: write('M'); writePoints(pts, 1); break;
+            case LineTo: write('L'); writePoints(pts, 1); break;
+            case QuadTo: write('Q'); writePoints(pts, 2); break;
+            case CubicTo: write('C'); writePoints(pts, 3); break;
+            case Close: write('Z'); break;
+        }
+    }
+}
+
+/**
+ * Writes given number of points from given coords array, transformed to device coords.
+ */
+void writePoints(double theCoords[], int aCount)
+{
+    double m[] = _gstate.matrix;
+    for(int i=0;i<aCount;i++) { double x = theCoords[i*2], y = theCoords[i*2+1];
+        if(i>0) write(' ');
+        writeNum(m[0]*x + m[2]*y + m[4]); write(','); writeNum(m[1]*x + m[3]*y + m[5]);
+    }
+}
+
+/**
+ * Writes a transform attribute for current transform (if not identity).
+ */
+void writeTransformAttr()
+{
+    double m[] = _gstate.matrix;
+    if(m[0]==1 && m[1]==0 && m[2]==0 && m[3]==1 && m[4]==0 && m[5]==0) return;
+    write(" transform=\"matrix(");
+    for(int i=0;i<6;i++) { if(i>0) write(' '); writeNum(m[i]); }
+    write(")\"");
+}
+
+/**
+ * Writes a number rounded to two decimal places (without creating strings).
+ */
+protected void writeNum(double aValue)
+{
+    // Get value in hundredths (NaN and infinity as zero)
+    long val = Double.isNaN(aValue) || Double.isInfinite(aValue)? 0 : Math.round(aValue*100);
+    boolean neg = val<0; if(neg) val = -val;
+
+    // Fill buffer from end: fraction digits (without trailing zeros), then integer digits, then sign
+    char buf[] = _numBuf; int i = buf.length;
+    int frac = (int)(val%100); val /= 100;
+    if(frac!=0) {
+        if(frac%10!=0) buf[--i] = (char)('0' + frac%10);
+        buf[--i] = (char)('0' + frac/10); buf[--i] = '.';
+    }
+    do { buf[--i] = (char)('0' + val%10); val /= 10; } while(val>0);
+    if(neg) buf[--i] = '-';
+    write(buf, i, buf.length - i);
+}
+
+/**
+ * Writes text with XML chars escaped.
+ */
+void writeText(String aStr)
+{
+    if(aStr==null) return;
+    for(int i=0, iMax=aStr.length(); i<iMax; i++) { char c = aStr.charAt(i);
+        switch(c) {
+            case '&': write("&amp;"); break;
+            case '<': write("&lt;"); break;
+            case '>': write("&gt;"); break;
+            case '"': write("&quot;"); break;
+            default: write(c);
+        }
+    }
+}
+
+/**
+ * Writes a string.
+ */
+void write(String aStr)
+{
+    try { _out.write(aStr); }
+    catch(IOException e) { throw new RuntimeException(e); }
+}
+
+/**
+ * Writes a char.
+ */
+void write(char aChar)
+{
+    try { _out.write(aChar); }
+    catch(IOException e) { throw new RuntimeException(e); }
+}
+
+/**
+ * Writes chars.
+ */
+void write(char theChars[], int aStart, int aLen)
+{
+    try { _out.write(theChars, aStart, aLen); }
+    catch(IOException e) { throw new RuntimeException(e); }
+}
+
+/**
+ * A class to hold graphics state.
+ */
+private static class GState implements Cloneable {
+
+    // The paint, stroke, opacity and font
+    Paint paint = Color.BLACK;
+    Stroke stroke = Stroke.Stroke1;
+    double opacity = 1;
+    Font font;
+
+    // The transform matrix (a, b, c, d, tx, ty) and clip
+    double matrix[] = { 1, 0, 0, 1, 0, 0 };
+    Shape clip;
+
+    // The number of clip groups opened in this state
+    int groups;
+
+    // The cached fill and stroke style attributes
+    String fillStyle, strokeStyle;
+
+    /** Returns the fill style attributes. */
+    String getFillStyle()
+    {
+        if(fillStyle!=null) return fillStyle;
+        double alpha = getAlpha();
+        return fillStyle = "fill=\"" + getColorString() + '"' + (alpha<1? " fill-opacity=\"" + alpha + '"' : "");
+    }
+
+    /** Returns the stroke style attributes. */
+    String getStrokeStyle()
+    {
+        if(strokeStyle!=null) return strokeStyle;
+        double alpha = getAlpha(), scale = Math.sqrt(Math.abs(matrix[0]*matrix[3] - matrix[1]*matrix[2]));
+        double width = (stroke!=null? stroke.getWidth() : 1)*scale, dashes[] = stroke!=null? stroke.getDashArray() : null;
+        StringBuilder sb = new StringBuilder("fill=\"none\" stroke=\"").append(getColorString()).append('"');
+        if(alpha<1) sb.append(" stroke-opacity=\"").append(alpha).append('"');
+        if(width!=1) sb.append(" stroke-width=\"").append(width).append('"');
+        Stroke.Cap cap = stroke!=null? stroke.getCap() : null;
+        Stroke.Join join = stroke!=null? stroke.getJoin() : null;
+        if(cap!=null && cap!=Stroke.Cap.Butt)
+            sb.append(" stroke-linecap=\"").append(getCapString(cap)).append('"');
+        if(join!=null && join!=Stroke.Join.Miter)
+            sb.append(" stroke-linejoin=\"").append(getJoinString(join)).append('"');
+        if(dashes!=null && dashes.length>0) { sb.append(" stroke-dasharray=\"");
+            for(int i=0;i<dashes.length;i++) sb.append(i>0? "," : "").append(dashes[i]*scale);
+            sb.append('"');
+        }
+        return strokeStyle = sb.toString();
+    }
+
+    /** Returns the SVG stroke-linecap value for given cap. */
+    static String getCapString(Stroke.Cap aCap)
+    {
+        return aCap==Stroke.Cap.Round? "round" : aCap==Stroke.Cap.Square? "square" : "butt";
+    }
+
+    /** Returns the SVG stroke-linejoin value for given join. */
+    static String getJoinString(Stroke.Join aJoin)
+    {
+        return aJoin==Stroke.Join.Round? "round" : aJoin==Stroke.Join.Bevel? "bevel" : "miter";
+    }
+
+    /** Returns whether paint and opacity are opaque (so coalesced shapes look the same as separate shapes). */
+    boolean isOpaque()  { return getAlpha()>=1; }
+
+    /** Returns the paint alpha times opacity. */
+    double getAlpha()  { return (paint instanceof Color? ((Color)paint).getAlpha() : 1)*opacity; }
+
+    /** Returns the paint as an SVG color string (non-color paints are written as black). */
+    String getColorString()
+    {
+        if(!(paint instanceof Color)) return "#000000";
+        int rgb = ((Color)paint).getRGB() & 0xFFFFFF;
+        String hex = Integer.toHexString(rgb);
+        return "#000000".substring(0, 7 - hex.length()) + hex;
+    }
+
+    /** Clears cached styles. */
+    void clearStyles()  { fillStyle = strokeStyle = null; }
+
+    /** Returns a copy of this state (with no clip groups). */
+    public GState clone()
+    {
+        GState clone; try { clone = (GState)super.clone(); }
+        catch(CloneNotSupportedException e) { throw new RuntimeException(e); }
+        clone.matrix = matrix.clone(); clone.groups = 0;
+        return clone;
+    }
+}
+
+}
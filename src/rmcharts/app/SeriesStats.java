@@ -0,0 +1,168 @@
+package rmcharts.app;
+
+/**
+ * A class to maintain the min, max and total of a list of values incrementally. Values are held in a segment tree
+ * (each node holds the min/max/total of its children), so setting a value or querying a range is O(log n).
+ */
+public class SeriesStats {
+
+    // The number of leaf slots (power of two)
+    int          _size;
+
+    // The number of values
+    int          _count;
+
+    // The min, max and total of each node (node 1 is root, leaves start at _size)
+    double       _min[], _max[], _total[];
+
+/**
+ * Creates SeriesStats for given values and count, with room for at least given capacity.
+ */
+public SeriesStats(double theVals[], int aCount, int aCapacity)
+{
+    // Get size as power of two that holds capacity and create node arrays
+    int size = 1; while(size<Math.max(aCount, aCapacity)) size *= 2;
+    _size = size; _count = aCount;
+    _min = new double[size*2]; _max = new double[size*2]; _total = new double[size*2];
+
+    // Set leaves (empty leaves get neutral values)
+    for(int i=0;i<size;i++) { int n = size + i;
+        if(i<aCount) { double v = theVals[i]; _min[n] = _max[n] = _total[n] = v; }
+        else { _min[n] = Double.POSITIVE_INFINITY; _max[n] = Double.NEGATIVE_INFINITY; }
+    }
+
+    // Set nodes from leaves up
+    for(int n=size-1;n>0;n--) update(n);
+}
+
+/**
+ * Returns the number of values.
+ */
+public int getCount()  { return _count; }
+
+/**
+ * Returns the number of values that can be held without rebuilding.
+ */
+public int getCapacity()  { return _size; }
+
+/**
+ * Makes sure stats can hold given number of values, doubling the tree size as needed (so appends are amortized
+ * O(log n)).
+ */
+public void ensureCapacity(int aCapacity)
+{
+    // If already big enough, just return
+    if(aCapacity<=_size) return;
+    
+    // Get new size and node arrays
+    int size = _size; while(size<aCapacity) size *= 2;
+    double min[] = new double[size*2], max[] = new double[size*2], total[] = new double[size*2];
+    
+    // Copy old leaves and set new leaves to neutral values
+    System.arraycopy(_min, _size, min, size, _size);
+    System.arraycopy(_max, _size, max, size, _size);
+    System.arraycopy(_total, _size, total, size, _size);
+    for(int n=size+_size;n<size*2;n++) { min[n] = Double.POSITIVE_INFINITY; max[n] = Double.NEGATIVE_INFINITY; }
+    
+    // Set new arrays and update nodes from leaves up
+    _size = size; _min = min; _max = max; _total = total;
+    for(int n=size-1;n>0;n--) update(n);
+}
+
+/**
+ * Returns the min value (or positive infinity if no values).
+ */
+public double getMin()  { return _min[1]; }
+
+/**
+ * Returns the max value (or negative infinity if no values).
+ */
+public double getMax()  { return _max[1]; }
+
+/**
+ * Returns the total of all values.
+ */
+public double getTotal()  { return _total[1]; }
+
+/**
+ * Sets the value at given index (growing capacity if needed). Setting at count appends.
+ */
+public void set(int anIndex, double aValue)
+{
+    ensureCapacity(anIndex + 1);
+    int n = _size + anIndex;
+    _min[n] = _max[n] = _total[n] = aValue;
+    for(n/=2; n>0; n/=2) update(n);
+    if(anIndex>=_count) _count = anIndex + 1;
+}
+
+/**
+ * Removes the last value.
+ */
+public void removeLast()  { clear(--_count); }
+
+/**
+ * Removes the value at given index, shifting following values down. Only leaves after index and their ancestors are
+ * updated (level by level), so cost is O(count - index) instead of a full rebuild.
+ */
+public void remove(int anIndex)
+{
+    // Shift leaves after index down by one and clear last leaf
+    int n0 = _size + anIndex, n1 = _size + _count - 1;
+    System.arraycopy(_min, n0+1, _min, n0, n1 - n0);
+    System.arraycopy(_max, n0+1, _max, n0, n1 - n0);
+    System.arraycopy(_total, n0+1, _total, n0, n1 - n0);
+    _min[n1] = Double.POSITIVE_INFINITY; _max[n1] = Double.NEGATIVE_INFINITY; _total[n1] = 0;
+    _count--;
+
+    // Update ancestors of changed leaves, one level at a time
+    for(int lo=n0/2, hi=n1/2; lo>0; lo/=2, hi/=2)
+        for(int n=lo;n<=hi;n++) update(n);
+}
+
+/**
+ * Clears the value at given index (without changing count).
+ */
+public void clear(int anIndex)
+{
+    int n = _size + anIndex;
+    _min[n] = Double.POSITIVE_INFINITY; _max[n] = Double.NEGATIVE_INFINITY; _total[n] = 0;
+    for(n/=2; n>0; n/=2) update(n);
+}
+
+/**
+ * Returns the min value for given range (start inclusive, end exclusive).
+ */
+public double getMin(int aStart, int anEnd)
+{
+    double min = Double.POSITIVE_INFINITY;
+    for(int lo=aStart+_size, hi=anEnd+_size; lo<hi; lo/=2, hi/=2) {
+        if((lo&1)==1) min = Math.min(min, _min[lo++]);
+        if((hi&1)==1) min = Math.min(min, _min[--hi]);
+    }
+    return min;
+}
+
+/**
+ * Returns the max value for given range (start inclusive, end exclusive).
+ */
+public double getMax(int aStart, int anEnd)
+{
+    double max = Double.NEGATIVE_INFINITY;
+    for(int lo=aStart+_size, hi=anEnd+_size; lo<hi; lo/=2, hi/=2) {
+        if((lo&1)==1) max = Math.max(max, _max[lo++]);
+        if((hi&1)==1) max = Math.max(max, _max[--hi]);
+    }
+    return max;
+}
+
+/**
+ * Updates node from its children.
+ */
+void update(int n)
+{
+    int l = n*2, r = l + 1;
+    _min[n] = Math.min(_min[l], _min[r]); _max[n] = Math.max(_max[l], _max[r]); _total[n] = _total[l] + _total[r];
+}
+
+}
@@ -0,0 +1,169 @@
+package rmcharts.app;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import snap.gfx.*;
+
+/**
+ * A class to cache string metrics (bounds and advance) for a font and string, so labels painted over and over (axis,
+ * legend and pie labels) are only measured once. The cache is a bounded LRU shared by render threads: entries are
+ * split by hash into segments, each an access-ordered map that drops its least recently used entry when full and has
+ * its own lock (so threads rarely contend). Lookups reuse a segment key, so hits don't allocate. Fonts are keyed by
+ * Font.equals/hashCode (font name and size). Hit and miss counts are kept to see how well it works.
+ */
+public class TextMetrics {
+
+    // The cache segments
+    static final Segment  _segments[];
+
+    // The number of cache hits and misses
+    static final LongAdder  _hits = new LongAdder(), _misses = new LongAdder();
+
+    // Constants
+    static final int CACHE_SIZE = 8192;
+    static final int SEGMENT_COUNT = 16;
+    
+    // Create segments
+    static {
+        _segments = new Segment[SEGMENT_COUNT];
+        for(int i=0;i<SEGMENT_COUNT;i++) _segments[i] = new Segment(CACHE_SIZE/SEGMENT_COUNT);
+    }
+
+/**
+ * Returns the bounds of given string in given font (a new rect).
+ */
+public static Rect getStringBounds(Font aFont, String aStr)
+{
+    Metrics m = getMetrics(aFont, aStr);
+    return new Rect(m.x, m.y, m.width, m.height);
+}
+
+/**
+ * Returns the width of given string bounds in given font.
+ */
+public static double getStringWidth(Font aFont, String aStr)  { return getMetrics(aFont, aStr).width; }
+
+/**
+ * Returns the height of given string bounds in given font.
+ */
+public static double getStringHeight(Font aFont, String aStr)  { return getMetrics(aFont, aStr).height; }
+
+/**
+ * Returns the mid x of given string bounds in given font.
+ */
+public static double getStringMidX(Font aFont, String aStr)
+{
+    Metrics m = getMetrics(aFont, aStr);
+    return m.x + m.width/2;
+}
+
+/**
+ * Returns the advance of given string in given font.
+ */
+public static double getStringAdvance(Font aFont, String aStr)  { return getMetrics(aFont, aStr).advance; }
+
+/**
+ * Returns the cached metrics for given font and string (measuring and caching, if missing).
+ */
+static Metrics getMetrics(Font aFont, String aStr)
+{
+    // Get segment for font and string
+    int hash = aFont.hashCode()*31 + aStr.hashCode();
+    Segment seg = _segments[(hash ^ hash>>>16) & (SEGMENT_COUNT-1)];
+
+    // If cached, return
+    synchronized (seg) {
+        Metrics m = seg._map.get(seg._lookup.set(aFont, aStr, hash));
+        if(m!=null) { _hits.increment(); return m; }
+    }
+    _misses.increment();
+
+    // Measure outside of lock and add to segment (which drops least recently used entry, if full)
+    Metrics m = new Metrics(aFont.getStringBounds(aStr), aFont.getStringAdvance(aStr));
+    Key key = new Key().set(aFont, aStr, hash);
+    synchronized (seg) { seg._map.put(key, m); }
+    return m;
+}
+
+/**
+ * Returns the number of cache hits.
+ */
+public static long getHitCount()  { return _hits.sum(); }
+
+/**
+ * Returns the number of cache misses (strings measured).
+ */
+public static long getMissCount()  { return _misses.sum(); }
+
+/**
+ * Returns the number of cached entries.
+ */
+public static int getSize()
+{
+    int size = 0; for(Segment seg : _segments) synchronized (seg) { size += seg._map.size(); }
+    return size;
+}
+
+/**
+ * Clears the cache and hit/miss counts.
+ */
+public static void clear()
+{
+    for(Segment seg : _segments) synchronized (seg) { seg._map.clear(); }
+    _hits.reset(); _misses.reset();
+}
+
+/**
+ * A class to hold a cache segment: An access-ordered map (LRU) with a reusable lookup key (guarded by segment lock).
+ */
+private static class Segment {
+
+    // The map and lookup key
+    final Map <Key,Metrics>  _map;
+    final Key                _lookup = new Key();
+
+    /** Creates a Segment with given max size. */
+    Segment(int aMaxSize)
+    {
+        _map = new LinkedHashMap(64, .75f, true) {
+            protected boolean removeEldestEntry(Map.Entry anEntry)  { return size()>aMaxSize; } };
+    }
+}
+
+/**
+ * A class to hold metrics cache key (font, string and precomputed hash).
+ */
+private static class Key {
+
+    // The font, string and hash
+    Font _font; String _str; int _hash;
+
+    /** Sets the key values and returns this key. */
+    Key set(Font aFont, String aStr, int aHash)  { _font = aFont; _str = aStr; _hash = aHash; return this; }
+
+    /** Standard equals implementation. */
+    public boolean equals(Object anObj)
+    {
+        Key other = anObj instanceof Key? (Key)anObj : null; if(other==null) return false;
+        return other._hash==_hash && other._str.equals(_str) && other._font.equals(_font);
+    }
+
+    /** Standard hashCode implementation. */
+    public int hashCode()  { return _hash; }
+}
+
+/**
+ * A class to hold cached string metrics.
+ */
+static class Metrics {
+
+    // The bounds and advance
+    final double x, y, width, height, advance;
+
+    /** Creates Metrics. */
+    Metrics(Rect aRect, double anAdvance)
+    {
+        x = aRect.x; y = aRect.y; width = aRect.width; height = aRect.height; advance = anAdvance;
+    }
+}
+
+}
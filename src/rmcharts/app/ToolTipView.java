@@ -15,6 +15,17 @@ public class ToolTipView extends ColView {
     
     // A runnable to reload contents
     Runnable       _reloadLater, _reloadRun = () -> { reloadContentsNow(); _reloadLater = null; };
+    
+    // The key label, bullet, series name label and value label (created once and updated in place)
+    StringView     _keyLabel, _nameLabel, _valLabel;
+    ShapeView      _bulletView;
+    
+    // The background shape view and the size its shape was created for
+    ShapeView      _bgView;
+    double         _bgW, _bgH;
+    
+    // Constants
+    static final Color BACKGROUND_FILL = Color.get("#F8F8F8DD");
 
 /**
  * Creates a ToolTipView.
@@ -23,6 +34,22 @@ public ToolTipView(ChartView aCV)
 {
     _chartView = aCV;
     setManaged(false); setPickable(false);
+    setPadding(7,7,15,7); setSpacing(5);
+    
+    // Create background shape view
+    _bgView = new ShapeView(); _bgView.setManaged(false); _bgView.setFill(BACKGROUND_FILL);
+    addChild(_bgView);
+    
+    // Create KeyLabel
+    _keyLabel = new StringView(); _keyLabel.setFont(Font.Arial10); addChild(_keyLabel);
+    
+    // Create RowView: BulletView, NameLabel, ValLabel
+    _bulletView = new ShapeView(new Ellipse(0,0,5,5));
+    _nameLabel = new StringView(); _nameLabel.setFont(Font.Arial12);
+    _valLabel = new StringView(); _valLabel.setFont(Font.Arial12.deriveFont(13).getBold());
+    RowView rview = new RowView(); rview.setSpacing(5);
+    rview.setChildren(_bulletView, _nameLabel, _valLabel);
+    addChild(rview);
 }
 
 /**
@@ -63,9 +90,6 @@ public void reloadContents()
  */
 protected void reloadContentsNow()
 {
-    // Go ahead and repaint chartView
-    _chartView.repaint();
-    
     // Get DataPoint - if null - remove view
     DataSet dset = _chartView.getDataSet();
     DataPoint dataPoint = _chartView.getTargDataPoint();
@@ -77,28 +101,15 @@ protected void reloadContentsNow()
     String selKey = dataPoint.getKeyString();
     double selValue = dataPoint.getValueX();
         
-    // Remove children and reset opacity, padding and spacing
-    removeChildren(); setOpacity(1);
-    setPadding(7,7,15,7); setSpacing(5);
+    // Reset opacity (could be fading out)
+    setOpacity(1);
     
-    // Set KeyLabel string
-    StringView keyLabel = new StringView(); keyLabel.setFont(Font.Arial10); addChild(keyLabel);
-    keyLabel.setText(selKey);
-    
-    // Create RowView: BulletView
+    // Update KeyLabel, BulletView, NameLabel and ValLabel
     Color color = _chartView.getColor(series.getIndex());
-    ShapeView bulletView = new ShapeView(new Ellipse(0,0,5,5)); bulletView.setFill(color);
-    
-    // Create RowView: NameLabel, ValLabel
-    StringView nameLabel = new StringView(); nameLabel.setFont(Font.Arial12);
-    nameLabel.setText(series.getName() + ":");
-    StringView valLabel = new StringView(); valLabel.setFont(Font.Arial12.deriveFont(13).getBold());
-    valLabel.setText(ChartView._fmt.format(selValue));
-    
-    // Create RowView and add BulletView, NameLabel and ValLabel
-    RowView rview = new RowView(); rview.setSpacing(5);
-    rview.setChildren(bulletView, nameLabel, valLabel);
-    addChild(rview);
+    _keyLabel.setText(selKey);
+    _bulletView.setFill(color);
+    _nameLabel.setText(series.getName() + ":");
+    _valLabel.setText(_chartView._fmt.format(selValue));
     
     // Calculate and set new size, keeping same center
     double oldWidth = getWidth(), oldHeight = getHeight();
@@ -107,15 +118,15 @@ protected void reloadContentsNow()
     setX(getX() - (newWidth/2 - oldWidth/2));
     setY(getY() - (newHeight/2 - oldHeight/2));
     
-    // Create background shape
-    RoundRect shp0 = new RoundRect(1,1,newWidth-2,newHeight-8,3); double midx = shp0.getMidX();
-    Shape shp1 = new Polygon(midx-6,newHeight-8,midx+6,newHeight-8,midx,newHeight-2);
-    Shape shp2 = Shape.add(shp0,shp1);
-    
-    // Create background shape view and add
-    ShapeView shpView = new ShapeView(shp2); shpView.setManaged(false); shpView.setPrefSize(newWidth,newHeight+10);
-    shpView.setFill(Color.get("#F8F8F8DD")); shpView.setBorder(color,1); //shpView.setEffect(new ShadowEffect());
-    addChild(shpView, 0);
+    // Update background shape (if size changed) and border color
+    if(newWidth!=_bgW || newHeight!=_bgH) {
+        RoundRect shp0 = new RoundRect(1,1,newWidth-2,newHeight-8,3); double midx = shp0.getMidX();
+        Shape shp1 = new Polygon(midx-6,newHeight-8,midx+6,newHeight-8,midx,newHeight-2);
+        _bgView.setPath(Shape.add(shp0,shp1));
+        _bgView.setPrefSize(newWidth,newHeight+10); _bgView.setSize(newWidth,newHeight+10);
+        _bgW = newWidth; _bgH = newHeight;
+    }
+    _bgView.setBorder(color,1); //_bgView.setEffect(new ShadowEffect());
     
     // Colculate new location
     Point pnt = dataPoint.getPointInChartView();